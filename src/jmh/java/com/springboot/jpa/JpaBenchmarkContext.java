@@ -0,0 +1,34 @@
+package com.springboot.jpa;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * 벤치마크용 스프링 컨텍스트 (웹 서버 없이, MySQL 대신 내장 H2 사용)
+ * application.properties보다 우선하도록 커맨드라인 인자로 데이터소스 설정
+ */
+public final class JpaBenchmarkContext {
+
+    private JpaBenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start(String... extraArgs) {
+        String[] args = {
+                "--spring.datasource.driverClassName=org.h2.Driver",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;NON_KEYWORDS=USER",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.format_sql=false"
+        };
+        String[] allArgs = new String[args.length + extraArgs.length];
+        System.arraycopy(args, 0, allArgs, 0, args.length);
+        System.arraycopy(extraArgs, 0, allArgs, args.length, extraArgs.length);
+
+        return new SpringApplicationBuilder(JpaApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(allArgs);
+    }
+}
@@ -0,0 +1,89 @@
+package com.springboot.jpa.config.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtTokenProvider 토큰 생성/검증 - 초당 처리 횟수
+ *  - createToken   : 토큰 발급 (클레임 직렬화 + HMAC 서명)
+ *  - validateToken : 처음 보는 토큰 검증 (캐시 miss - 파싱 + HMAC 검증)
+ *  - legacy        : 변경 전 요청 1건당 검증 방식 (호출마다 파서 생성, 두 번 파싱 + HMAC 검증)
+ *  - cached        : 요청 1건당 검증 (validateToken + getUsername, 검증된 토큰 캐시 hit)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET = "around-hub-studio-flature-spring-boot-3!@#";
+
+    private JwtTokenProvider jwtTokenProvider;
+    private String encodedSecret;
+    private String token;
+    private String[] uncachedTokens;
+    private int uncachedIndex;
+
+    @Setup
+    public void setUp() throws Exception {
+        jwtTokenProvider = new JwtTokenProvider(null, new SimpleMeterRegistry());
+        //@Value로 주입되는 필드이므로 리플렉션으로 직접 설정
+        Field secretKeyField = JwtTokenProvider.class.getDeclaredField("secretKey");
+        secretKeyField.setAccessible(true);
+        secretKeyField.set(jwtTokenProvider, SECRET);
+        jwtTokenProvider.init();
+
+        encodedSecret = Base64.getEncoder().encodeToString(SECRET.getBytes(StandardCharsets.UTF_8));
+        token = jwtTokenProvider.createToken("user123", List.of("ROLE_USER"));
+
+        //캐시 크기(기본 10,000)보다 많은 서로 다른 토큰을 돌아가며 검증 -> 대부분 캐시 miss
+        uncachedTokens = new String[50_000];
+        for (int i = 0; i < uncachedTokens.length; i++) {
+            uncachedTokens[i] = jwtTokenProvider.createToken("user" + i, List.of("ROLE_USER"));
+        }
+    }
+
+    @Benchmark
+    public String createToken() {
+        return jwtTokenProvider.createToken("user123", List.of("ROLE_USER"));
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        uncachedIndex = (uncachedIndex + 1) % uncachedTokens.length;
+        return jwtTokenProvider.validateToken(uncachedTokens[uncachedIndex]);
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public String legacy() {
+        Jws<Claims> claims = Jwts.parserBuilder().setSigningKey(encodedSecret).build().parseClaimsJws(token);
+        if (claims.getBody().getExpiration().before(new Date())) {
+            return null;
+        }
+        return Jwts.parser().setSigningKey(encodedSecret).parseClaimsJws(token).getBody().getSubject();
+    }
+
+    @Benchmark
+    public String cached() {
+        if (!jwtTokenProvider.validateToken(token)) {
+            return null;
+        }
+        return jwtTokenProvider.getUsername(token);
+    }
+}
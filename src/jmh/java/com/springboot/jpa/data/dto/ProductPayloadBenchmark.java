@@ -0,0 +1,70 @@
+package com.springboot.jpa.data.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 응답 형식별 직렬화 비용 + 전송 크기 (단건, 1,000건 목록)
+ *  - serialize : 직렬화 시간 (gc 프로파일러로 할당량도 측정)
+ *  - 전송 크기(원본 / gzip)는 @Setup에서 한 번 계산해서 출력 ([payload] ...)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductPayloadBenchmark {
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    @Param({"1", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private Object payload;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = switch (format) {
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+
+        List<ProductResponseDto> products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            products.add(ProductResponseDto.of(100_000L + i, "상품" + i, 1000 + i, i % 100));
+        }
+        payload = size == 1 ? products.get(0) : products;
+
+        byte[] bytes = objectMapper.writeValueAsBytes(payload);
+        System.out.printf("%n[payload] format=%s size=%d -> %d bytes, gzip %d bytes%n",
+                format, size, bytes.length, gzip(bytes).length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(payload);
+    }
+
+    private static byte[] gzip(byte[] bytes) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
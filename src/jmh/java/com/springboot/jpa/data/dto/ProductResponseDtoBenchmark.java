@@ -0,0 +1,50 @@
+package com.springboot.jpa.data.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springboot.jpa.data.entity.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 엔티티 -> DTO 변환, DTO -> JSON 직렬화 비용
+ * ObjectMapper는 Spring MVC와 같은 방식(Jackson2ObjectMapperBuilder)으로 생성
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProductResponseDtoBenchmark {
+
+    private Product product;
+    private ProductResponseDto productResponseDto;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() throws Exception {
+        product = Product.create("펜", 1000, 100);
+        Field numberField = Product.class.getDeclaredField("number");
+        numberField.setAccessible(true);
+        numberField.set(product, 123L);
+
+        productResponseDto = ProductResponseDto.from(product);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public ProductResponseDto from() {
+        return ProductResponseDto.from(product);
+    }
+
+    @Benchmark
+    public byte[] serializeJson() throws Exception {
+        return objectMapper.writeValueAsBytes(productResponseDto);
+    }
+}
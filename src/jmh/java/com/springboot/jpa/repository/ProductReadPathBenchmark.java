@@ -0,0 +1,66 @@
+package com.springboot.jpa.repository;
+
+import com.springboot.jpa.JpaBenchmarkContext;
+import com.springboot.jpa.data.dto.ProductResponseDto;
+import com.springboot.jpa.data.entity.Product;
+import com.springboot.jpa.data.repository.ProductJpaRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /product 조회 경로 비교 (캐시 제외, DB 조회만)
+ *  - entity     : 변경 전 - 트랜잭션 안에서 엔티티 로딩(스냅샷 생성) 후 ProductResponseDto.from
+ *  - projection : 변경 후 - 읽기 전용 트랜잭션 + 생성자 표현식으로 DTO 직접 조회
+ * 요청당 할당량은 gc 프로파일러(gc.alloc.rate.norm)로 확인
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductReadPathBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private ProductJpaRepository productJpaRepository;
+    private TransactionTemplate transactionTemplate;
+    private TransactionTemplate readOnlyTransactionTemplate;
+    private Long number;
+
+    @Setup
+    public void setUp() {
+        context = JpaBenchmarkContext.start();
+        productJpaRepository = context.getBean(ProductJpaRepository.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTransactionTemplate.setReadOnly(true);
+
+        number = productJpaRepository.save(Product.create("펜", 1000, 100)).getNumber();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ProductResponseDto entity() {
+        return transactionTemplate.execute(status ->
+                ProductResponseDto.from(productJpaRepository.findById(number).orElseThrow()));
+    }
+
+    @Benchmark
+    public ProductResponseDto projection() {
+        return readOnlyTransactionTemplate.execute(status ->
+                productJpaRepository.findResponseByNumber(number).orElseThrow());
+    }
+}
@@ -0,0 +1,65 @@
+package com.springboot.jpa.repository;
+
+import com.springboot.jpa.JpaBenchmarkContext;
+import com.springboot.jpa.data.dto.ProductResponseDto;
+import com.springboot.jpa.data.entity.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ProductRepository CRUD (내장 H2)
+ *  - selectResponse는 캐시를 거치므로 캐시 hit 비용, select는 DB 조회 비용
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductRepositoryBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    private Long number;
+    private long sequence;
+
+    @Setup
+    public void setUp() {
+        context = JpaBenchmarkContext.start();
+        productRepository = context.getBean(ProductRepository.class);
+        number = productRepository.insertProduct(Product.create("펜", 1000, 100)).getNumber();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    //insert 후 바로 delete (테이블 크기를 일정하게 유지)
+    @Benchmark
+    public void insertAndDelete() throws Exception {
+        Product product = productRepository.insertProduct(Product.create("연필", 500, 10));
+        productRepository.deleteProduct(product.getNumber());
+    }
+
+    @Benchmark
+    public Product select() {
+        return productRepository.selectProduct(number);
+    }
+
+    @Benchmark
+    public ProductResponseDto selectResponse() {
+        return productRepository.selectProductResponse(number);
+    }
+
+    @Benchmark
+    public Product update() {
+        return productRepository.updateProduct(number, "펜" + (sequence++ % 100));
+    }
+}
@@ -0,0 +1,76 @@
+package com.springboot.jpa.service;
+
+import com.springboot.jpa.data.dto.ProductResponseDto;
+import com.springboot.jpa.data.entity.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 상품 100만 건 스냅샷에서 번호로 조회 (getProduct 스냅샷 경로)
+ *  - snapshot : ProductSnapshotStore (primitive 키 인덱스 + off-heap 레코드)
+ *  - hashmap  : HashMap&lt;Long, Product&gt; + ProductResponseDto.from
+ * 무작위 번호로 조회해서 캐시 미스 비용까지 포함, 조회당 할당량은 gc 프로파일러로 확인
+ * 힙 크기 / full GC 시간 비교는 ProductSnapshotFootprintTest (./gradlew benchmark)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProductSnapshotStoreBenchmark {
+
+    private static final int PRODUCTS = 1_000_000;
+    private static final int LOOKUP_MASK = (1 << 16) - 1;
+
+    @Param({"snapshot", "hashmap"})
+    private String store;
+
+    private ProductSnapshotStore snapshotStore;
+    private Map<Long, Product> productMap;
+    private long[] lookupNumbers;
+    private int lookupIndex;
+
+    @Setup
+    public void setUp() throws Exception {
+        if ("snapshot".equals(store)) {
+            snapshotStore = new ProductSnapshotStore(PRODUCTS);
+            for (long number = 1; number <= PRODUCTS; number++) {
+                snapshotStore.put(number, "상품" + number, 1000, 100, null);
+            }
+        } else {
+            Field numberField = Product.class.getDeclaredField("number");
+            numberField.setAccessible(true);
+            productMap = new HashMap<>(PRODUCTS * 2);
+            for (long number = 1; number <= PRODUCTS; number++) {
+                Product product = Product.create("상품" + number, 1000, 100);
+                numberField.set(product, number);
+                productMap.put(number, product);
+            }
+        }
+
+        Random random = new Random(42);
+        lookupNumbers = new long[LOOKUP_MASK + 1];
+        for (int i = 0; i < lookupNumbers.length; i++) {
+            lookupNumbers[i] = 1 + random.nextInt(PRODUCTS);
+        }
+    }
+
+    @Benchmark
+    public ProductResponseDto get() {
+        long number = lookupNumbers[lookupIndex++ & LOOKUP_MASK];
+        if (snapshotStore != null) {
+            return snapshotStore.get(number);
+        }
+        return ProductResponseDto.from(productMap.get(number));
+    }
+}
@@ -0,0 +1,51 @@
+package com.springboot.jpa.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.cache.SpringCacheBasedUserCache;
+
+import java.time.Duration;
+
+/**
+ * 캐시 설정
+ *  - 캐시 저장소(Caffeine)와 크기/TTL은 application.properties의 spring.cache.* 로 설정
+ *  - Actuator가 Caffeine 캐시를 자동으로 메트릭(cache.gets, cache.evictions 등)에 등록함
+ *  - order : 캐시 advice를 트랜잭션 advice보다 바깥에 둬서 @CacheEvict가 커밋 이후에 실행되도록 함
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfiguration {
+
+    //상품 단건 조회 캐시 (key : 상품 number)
+    public static final String PRODUCT_CACHE = "product";
+
+    //인증용 사용자 정보 캐시 (key : uid)
+    public static final String USER_CACHE = "users";
+
+    //사용자 캐시는 권한 변경이 늦게 반영되지 않도록 상품 캐시와 별도로 짧은 TTL 적용
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> userCacheCustomizer(
+            @Value("${springboot.security.user-cache.ttl:5m}") Duration ttl,
+            @Value("${springboot.security.user-cache.maximum-size:10000}") long maximumSize) {
+        return cacheManager -> cacheManager.registerCustomCache(USER_CACHE, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build());
+    }
+
+    //Spring Security의 UserCache 구현체 (Spring Cache 위에서 동작)
+    @Bean
+    public UserCache userCache(CacheManager cacheManager) {
+        return new SpringCacheBasedUserCache(cacheManager.getCache(USER_CACHE));
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.springboot.jpa.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+
+/**
+ * 운영(prod) 커넥션 풀 크기 설정
+ *  - spring.datasource.hikari.maximum-pool-size를 지정하지 않았으면 CPU 코어 수로 계산
+ *    (코어 * connections-per-core + effective-spindle-count)
+ *  - 풀 크기는 요청 스레드 수(Tomcat, 가상 스레드)와 무관하게 DB가 동시에 처리할 수 있는 만큼만
+ */
+@Configuration
+@Profile("prod")
+public class DataSourcePoolConfiguration {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DataSourcePoolConfiguration.class);
+
+    //spring.datasource.hikari.* 바인딩이 끝난 뒤(postProcessAfterInitialization), 풀 시작(첫 getConnection) 전에 적용
+    @Bean
+    static BeanPostProcessor hikariPoolSizePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource
+                        && !environment.containsProperty("spring.datasource.hikari.maximum-pool-size")) {
+                    int poolSize = poolSize(Runtime.getRuntime().availableProcessors(),
+                            environment.getProperty("springboot.datasource.pool.connections-per-core", Integer.class, 2),
+                            environment.getProperty("springboot.datasource.pool.effective-spindle-count", Integer.class, 1));
+                    dataSource.setMaximumPoolSize(poolSize);
+                    LOGGER.info("[hikariPoolSize] maximumPoolSize : {}", poolSize);
+                }
+                return bean;
+            }
+        };
+    }
+
+    static int poolSize(int cores, int connectionsPerCore, int effectiveSpindleCount) {
+        return Math.max(1, cores * connectionsPerCore + effectiveSpindleCount);
+    }
+}
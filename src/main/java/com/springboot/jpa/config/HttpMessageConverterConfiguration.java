@@ -0,0 +1,29 @@
+package com.springboot.jpa.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * JSON 외 바이너리 응답 형식 - Accept 헤더로 선택
+ *  - application/cbor            : CBOR
+ *  - application/x-jackson-smile : Smile (반복되는 필드명을 back-reference로 줄임 -> 목록 응답에서 유리)
+ *  - JSON과 같은 Jackson 설정(Spring Boot의 Jackson2ObjectMapperBuilder)을 사용해서 필드 구성이 동일함
+ */
+@Configuration
+public class HttpMessageConverterConfiguration {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.createXmlMapper(false).factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.createXmlMapper(false).factory(new SmileFactory()).build());
+    }
+}
@@ -0,0 +1,28 @@
+package com.springboot.jpa.config;
+
+import com.springboot.jpa.repository.ProductNameWriteBehind;
+import com.springboot.jpa.service.ProductChangeServiceImpl;
+import com.springboot.jpa.service.ProductSnapshot;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+
+/**
+ * spring.main.lazy-initialization=true(prod) 여도 시작할 때 바로 생성할 빈
+ *  - EntityManagerFactory : 스키마 검증(ddl-auto=validate) 실패를 첫 요청이 아니라 배포 시점에 확인
+ *  - ProductNameWriteBehind : @PostConstruct에서 flush 스케줄러 시작
+ *  - ProductSnapshot : @PostConstruct에서 전체 적재 시작 (첫 요청 전에 스냅샷 준비)
+ *  - ProductChangeServiceImpl : @PostConstruct에서 tombstone 정리 시작 (변경 피드 요청이 없어도 삭제 기록이 쌓이지 않도록)
+ */
+@Configuration
+public class LazyInitializationConfiguration {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerInitializationFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                AbstractEntityManagerFactoryBean.class, EntityManagerFactory.class, ProductNameWriteBehind.class,
+                ProductSnapshot.class, ProductChangeServiceImpl.class);
+    }
+}
@@ -0,0 +1,62 @@
+package com.springboot.jpa.config;
+
+import com.springboot.jpa.data.dto.ProductChangeDto;
+import com.springboot.jpa.data.dto.ProductChangePageDto;
+import com.springboot.jpa.data.dto.ProductDto;
+import com.springboot.jpa.data.dto.ProductImportJobDto;
+import com.springboot.jpa.data.dto.ProductPageResponseDto;
+import com.springboot.jpa.data.dto.ProductResponseDto;
+import com.springboot.jpa.data.dto.ProductSearchDto;
+import com.springboot.jpa.data.entity.UserCacheEvictionListener;
+import com.springboot.jpa.dto.ChangeProductNameDto;
+import com.springboot.jpa.dto.ProductBatchDto;
+import com.springboot.jpa.dto.ReserveStockDto;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+/**
+ * GraalVM native image용 리플렉션/리소스 힌트 (./gradlew nativeCompile)
+ *  - 엔티티(Product, User)와 리포지토리는 Spring AOT가 등록하고, Lombok은 컴파일 시점에 코드를 만들므로 힌트 불필요
+ *  - DTO : Jackson 직렬화 + JPQL/Criteria 생성자 표현식(select new ProductResponseDto(...))
+ *  - UserCacheEvictionListener : Hibernate가 리플렉션으로 생성하고 콜백(@PostUpdate 등)을 호출
+ *  - JJWT 0.11 : 구현 클래스(jjwt-impl)를 이름으로 찾아 생성하고, Jackson 직렬화기는 ServiceLoader로 찾음
+ *  - springdoc : 자체 힌트를 제공하므로 Swagger UI 정적 리소스만 추가 (prod 프로필에서는 꺼져 있음)
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final String[] JJWT_CLASSES = {
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParser",
+            "io.jsonwebtoken.impl.DefaultClaims",
+            "io.jsonwebtoken.impl.compression.DefaultCompressionCodecResolver",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+    };
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        bindingRegistrar.registerReflectionHints(hints.reflection(),
+                ProductDto.class, ProductResponseDto.class, ProductPageResponseDto.class, ProductSearchDto.class,
+                ChangeProductNameDto.class, ReserveStockDto.class, ProductBatchDto.class, ProductImportJobDto.class,
+                ProductChangeDto.class, ProductChangePageDto.class);
+        hints.reflection().registerType(ProductResponseDto.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+        hints.reflection().registerType(UserCacheEvictionListener.class,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+        for (String className : JJWT_CLASSES) {
+            hints.reflection().registerType(TypeReference.of(className),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.io.Serializer");
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.io.Deserializer");
+
+        hints.resources().registerPattern("META-INF/resources/webjars/swagger-ui/**");
+    }
+}
@@ -0,0 +1,59 @@
+package com.springboot.jpa.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * 비동기 상품 API(/async/product)용 JDBC 작업 executor
+ *  - 스레드 수 = 커넥션 풀 크기 (그 이상은 어차피 커넥션을 기다리므로 의미 없음)
+ *  - 대기 큐는 queue-capacity까지만 -> 가득 차면 TaskRejectedException (컨트롤러에서 503 + Retry-After)
+ *  - spring.threads.virtual.enabled=true(virtual 프로필)면 가상 스레드 - 스레드 수 제한(= 커넥션 풀 크기)은 그대로
+ *  - 이 빈이 있어도 applicationTaskExecutor(MVC 비동기, StreamingResponseBody)가 만들어지도록 spring.task.execution.mode=force
+ */
+@Configuration
+public class ProductExecutorConfiguration {
+
+    public static final String PRODUCT_TASK_EXECUTOR = "productTaskExecutor";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProductExecutorConfiguration.class);
+
+    @Bean(name = PRODUCT_TASK_EXECUTOR)
+    public ThreadPoolTaskExecutor productTaskExecutor(DataSource dataSource,
+                                                      @Value("${springboot.product.async.queue-capacity:100}") int queueCapacity,
+                                                      @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        int poolSize = connectionPoolSize(dataSource);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("product-jdbc-");
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        //직접 만든 executor는 Boot의 가상 스레드 설정이 적용되지 않으므로 같은 속성으로 지정
+        executor.setVirtualThreads(virtualThreads);
+        //종료 시 이미 받은 요청은 마저 처리
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        LOGGER.info("[productTaskExecutor] poolSize : {}, queueCapacity : {}, virtualThreads : {}",
+                poolSize, queueCapacity, virtualThreads);
+        return executor;
+    }
+
+    //테스트에서 DataSource를 프록시로 감싸도 unwrap으로 HikariCP 설정을 읽음
+    private int connectionPoolSize(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            LOGGER.warn("[productTaskExecutor] 커넥션 풀 크기 확인 실패, 기본값 사용", e);
+        }
+        return 10; //HikariCP 기본 maximumPoolSize
+    }
+}
@@ -0,0 +1,88 @@
+package com.springboot.jpa.config;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 느린 요청 로그
+ *  - 요청마다 로그를 남기지 않고, threshold 이상 걸린 요청만 WARN으로 기록
+ *  - 느린 요청이 몰릴 때 로그가 다시 병목이 되지 않도록 sample-rate 비율만 기록 (1.0 = 전부, 0.0 = 끔)
+ *  - 비동기 요청(/async/product, DeferredResult, StreamingResponseBody)은 요청 스레드 반환이 아니라 응답 완료까지 측정
+ *    SSE(text/event-stream)는 연결 유지 시간이므로 제외
+ */
+@Component
+public class SlowRequestLoggingFilter extends OncePerRequestFilter {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(SlowRequestLoggingFilter.class);
+
+    private final long thresholdNanos;
+    private final double sampleRate;
+
+    public SlowRequestLoggingFilter(@Value("${springboot.logging.slow-request.threshold:500ms}") Duration threshold,
+                                    @Value("${springboot.logging.slow-request.sample-rate:1.0}") double sampleRate) {
+        this.thresholdNanos = threshold.toNanos();
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                //async dispatch에는 이 필터가 다시 실행되지 않으므로(shouldNotFilterAsyncDispatch) 완료 이벤트에서 기록
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        String contentType = response.getContentType();
+                        if (contentType == null || !contentType.startsWith(MediaType.TEXT_EVENT_STREAM_VALUE)) {
+                            logIfSlow(request, response, start);
+                        }
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                logIfSlow(request, response, start);
+            }
+        }
+    }
+
+    private void logIfSlow(HttpServletRequest request, HttpServletResponse response, long start) {
+        long elapsedNanos = System.nanoTime() - start;
+        if (elapsedNanos >= thresholdNanos && LOGGER.isWarnEnabled() && sampled()) {
+            LOGGER.warn("[slowRequest] {} {} status : {}, {}ms", request.getMethod(), request.getRequestURI(),
+                    response.getStatus(), elapsedNanos / 1_000_000);
+        }
+    }
+
+    private boolean sampled() {
+        return sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+}
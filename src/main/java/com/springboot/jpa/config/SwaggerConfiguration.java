@@ -3,10 +3,13 @@ package com.springboot.jpa.config;
 import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Info;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+//prod 프로필은 springdoc.api-docs.enabled=false -> 문서 설정도 만들지 않음
 @Configuration
+@ConditionalOnProperty(name = "springdoc.api-docs.enabled", matchIfMissing = true)
 public class SwaggerConfiguration {
     @Bean
     public OpenAPI openAPI() {
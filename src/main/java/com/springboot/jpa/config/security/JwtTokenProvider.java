@@ -1,9 +1,17 @@
 package com.springboot.jpa.config.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
@@ -12,14 +20,22 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @RequiredArgsConstructor
@@ -27,25 +43,88 @@ public class JwtTokenProvider {
 
     private final Logger LOGGER = LoggerFactory.getLogger(JwtTokenProvider.class);
     private final UserDetailsService userDetailsService;
+    private final MeterRegistry meterRegistry;
 
     @Value("${springboot.jwt.secret}") //yml파일에서 secretkey 가져오기
     private String secretKey = "secretKey";
 
+    //검증에 성공한 토큰 캐시 최대 개수
+    @Value("${springboot.jwt.token-cache-size:10000}")
+    private long tokenCacheSize = 10_000;
+
+    //true면 DB 조회 없이 토큰의 roles 클레임만으로 인증 객체 생성
+    //(권한 회수/계정 삭제가 토큰 만료 전까지 반영되지 않으므로 기본값은 false)
+    @Value("${springboot.jwt.stateless:false}")
+    private boolean stateless = false;
+
     private final long tokenValiditySeconds = 1000L * 60 * 60;
 
+    //서명 키, 파서는 불변(thread-safe) 객체이므로 init에서 한 번만 만들어 재사용
+    private Key signingKey;
+    private JwtParser jwtParser;
+
+    //검증된 토큰 캐시 (key : 토큰의 SHA-256 해시, value : 클레임) - 토큰의 만료시각(exp)에 캐시에서도 만료됨
+    private Cache<String, Claims> verifiedTokenCache;
+
+    //단계별 소요 시간
+    //  jwt.parse{result=cached}   : 캐시 hit (해시 계산 + 캐시 조회)
+    //  jwt.parse{result=verified} : 파싱 + 서명 검증 성공
+    //  jwt.parse{result=rejected} : 파싱 또는 서명 검증 실패
+    //  jwt.user.load              : 토큰의 사용자 정보 조회 (UserCache -> UserRepository.getByUid)
+    private Timer parseCachedTimer;
+    private Timer parseVerifiedTimer;
+    private Timer parseRejectedTimer;
+    private Timer userLoadTimer;
+    //validateToken 결과 (jwt.validation{result=valid|invalid})
+    private Counter validCounter;
+    private Counter invalidCounter;
+
     @PostConstruct //Spring이 Bean을 모두 생성하고 의존성 주입이 끝난 직후에 실행되는 메서드
     //secretKey 가공 (서명부분)
     public void init() {
         LOGGER.info("[init] JwtTokenProvider 내 secretKey 초기화 시작");
         //JWT서명에 사용할 secretKey를 Base64 인코딩
         secretKey = Base64.getEncoder().encodeToString(secretKey.getBytes(StandardCharsets.UTF_8));
+        //기존 signWith(SignatureAlgorithm, String)과 같은 키 (Base64 디코딩한 바이트로 만든 HMAC 키)
+        signingKey = new SecretKeySpec(Base64.getDecoder().decode(secretKey), SignatureAlgorithm.HS256.getJcaName());
+        jwtParser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        verifiedTokenCache = Caffeine.newBuilder()
+                .maximumSize(tokenCacheSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+        //토큰 캐시 hit/miss/eviction (cache.gets{cache=jwt.tokens} 등)
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokenCache, "jwt.tokens");
+
+        parseCachedTimer = parseTimer("cached");
+        parseVerifiedTimer = parseTimer("verified");
+        parseRejectedTimer = parseTimer("rejected");
+        userLoadTimer = Timer.builder("jwt.user.load")
+                .description("토큰 사용자 정보 조회 시간")
+                .register(meterRegistry);
+        validCounter = validationCounter("valid");
+        invalidCounter = validationCounter("invalid");
         LOGGER.info("[init] JwtTokenProvider 내 secretKey 초기화 완료");
     }
 
+    private Timer parseTimer(String result) {
+        return Timer.builder("jwt.parse")
+                .description("토큰 파싱/서명 검증 시간")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private Counter validationCounter(String result) {
+        return Counter.builder("jwt.validation")
+                .description("토큰 유효성 검사 결과")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
 
     //JWT 토큰 생성
     public String createToken(String userUid, List<String> roles) {
-        LOGGER.info("[createToken] 토큰 생성 시작");
+        LOGGER.debug("[createToken] 토큰 생성 시작");
         //Payload(=클레임) 생성
         //setSubject : "sub(주제)"클레임 설정 - userUid
         /**
@@ -68,10 +147,10 @@ public class JwtTokenProvider {
                 .setClaims(claims) //클레임 정보 설정
                 .setIssuedAt(now) //발급시각(iat)
                 .setExpiration(new Date(now.getTime() + tokenValiditySeconds)) //만료시각
-                .signWith(SignatureAlgorithm.HS256, secretKey) //디지털 서명 (사용할 알고리즘, 인코딩한 키)
+                .signWith(signingKey, SignatureAlgorithm.HS256) //디지털 서명 (키, 사용할 알고리즘)
                 .compact(); //결과물로 하나의문자열로 반환 (xxx.yyy.zzz)
 
-        LOGGER.info("[createToken]");
+        LOGGER.debug("[createToken]");
         /**
          * 최종 결과
          * {
@@ -95,46 +174,129 @@ public class JwtTokenProvider {
      *  └─ authorities : [ROLE_USER, ROLE_ADMIN]
      */
     public Authentication getAuthentication(String token) {
-        LOGGER.info("[getAuthentication] 토큰 인증 정보 조회 시작");
-        //"token"에서 username을 추출해 DB에서 사용자정보 조회하여 userDetails에 담음
-        UserDetails userDetails = userDetailsService.loadUserByUsername(this.getUsername(token));
+        LOGGER.debug("[getAuthentication] 토큰 인증 정보 조회 시작");
+        UserDetails userDetails;
+        if (stateless) {
+            //토큰에 이미 담긴 sub, roles 클레임으로 userDetails 구성 (DB 조회 없음)
+            Claims claims = parseClaims(token);
+            userDetails = User.withUsername(claims.getSubject())
+                    .password("")
+                    .authorities(getRoles(claims))
+                    .build();
+        } else {
+            //"token"에서 username을 추출해 DB에서 사용자정보 조회하여 userDetails에 담음 (UserCache에 있으면 캐시 사용)
+            String username = this.getUsername(token);
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                userDetails = userDetailsService.loadUserByUsername(username);
+            } finally {
+                sample.stop(userLoadTimer);
+            }
+        }
         //UsernamePasswordAuthenticationToken : Authentication 인터페이스의 구현체 중 하나
         return new UsernamePasswordAuthenticationToken(userDetails, "", userDetails.getAuthorities());
     }
 
-    //사용자 정보 복호화
-    //setSigningKey :  토큰을 검증할 때 사용할 비밀키를 설정
+    //createToken에서 넣은 roles 클레임 -> 권한 목록
+    private List<SimpleGrantedAuthority> getRoles(Claims claims) {
+        Object roles = claims.get("roles");
+        if (!(roles instanceof Collection<?> roleCollection)) {
+            return List.of();
+        }
+        return roleCollection.stream().map(role -> new SimpleGrantedAuthority(String.valueOf(role))).toList();
+    }
+
+    //토큰을 한 번만 파싱/서명 검증하고 클레임 반환 (validateToken, getUsername이 같이 사용)
     //parseClaimsJws(token) :  토큰을 파싱 (Base64 디코딩과 서명 검증) -> 검증 성공시 Jws<Claims> 객체 반환
     //Jws : 서명된 JWT
     //Claims : JWT안의 payload(사용자 데이터)
+    //검증 실패(서명 불일치, 만료 등) 시 JwtException 발생
+    public Claims parseClaims(String token) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String tokenHash = hash(token);
+        Claims cachedClaims = verifiedTokenCache.getIfPresent(tokenHash);
+        if (cachedClaims != null) {
+            sample.stop(parseCachedTimer);
+            return cachedClaims;
+        }
+
+        Claims claims;
+        try {
+            claims = jwtParser.parseClaimsJws(token).getBody();
+            if (claims.getExpiration() == null) { //만료시각 없는 토큰은 허용하지 않음
+                throw new JwtException("만료시각(exp)이 없는 토큰");
+            }
+        } catch (RuntimeException e) {
+            sample.stop(parseRejectedTimer);
+            throw e;
+        }
+        sample.stop(parseVerifiedTimer);
+        verifiedTokenCache.put(tokenHash, claims);
+        return claims;
+    }
+
+    //사용자 정보 복호화
     public String getUsername(String token) {
-        LOGGER.info("[getUsername] 토큰 기반 회원 구별 정보 추출");
-        String info = Jwts.parser().setSigningKey(secretKey).parseClaimsJws(token).getBody().getSubject();
-        LOGGER.info("[getUsername] 토큰 기반 회원 구별 정보 추출 완료, info : {}", info);
+        LOGGER.debug("[getUsername] 토큰 기반 회원 구별 정보 추출");
+        String info = parseClaims(token).getSubject();
+        LOGGER.debug("[getUsername] 토큰 기반 회원 구별 정보 추출 완료, info : {}", info);
         return info;
     }
 
     //클라이언트가 보낸 HTTP 요청 헤더에서 JWT 토큰을 꺼내는 역할
     public String resolveToken(HttpServletRequest request) {
-        LOGGER.info("resolveToken] HTTP 헤더에서 Token 값 추출");
+        LOGGER.debug("resolveToken] HTTP 헤더에서 Token 값 추출");
         return request.getHeader("X-AUTH-TOKEN");
     }
 
     //토큰 유효성 검사
     //  1. 서버가 발급한 토큰이 맞는지
     //  2. 아직 만료되지 않았는지
-    //parseClaimsJws(token) : 실제 토큰 파싱 및 서명 검증
+    //parseClaims(token) : 실제 토큰 파싱 및 서명 검증 (이미 검증된 토큰이면 캐시 사용)
     public boolean validateToken(String token) {
-        LOGGER.info("validationToken] 토큰 유효 체크 시작");
+        LOGGER.debug("validationToken] 토큰 유효 체크 시작");
         try {
-            Jws<Claims> claims = Jwts.parserBuilder().setSigningKey(secretKey).build().parseClaimsJws(token);
+            Claims claims = parseClaims(token);
 
-            return !claims.getBody().getExpiration().before(new Date()); //만료된 토큰이 아니면 true
+            boolean valid = !claims.getExpiration().before(new Date()); //만료된 토큰이 아니면 true
+            (valid ? validCounter : invalidCounter).increment();
+            return valid;
         } catch (Exception e) { //토큰 유효성 검사에 실패했다면
-            LOGGER.info("[validateToken] 토큰 유효 체크 예외 발생");
+            LOGGER.debug("[validateToken] 토큰 유효 체크 예외 발생");
+            invalidCounter.increment();
 
             return false;
         }
     }
 
+    //캐시 key - 토큰 원문 대신 고정 길이 해시 사용 (서명 검증보다 훨씬 가벼움)
+    private String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) { //SHA-256은 모든 JVM이 지원해야 하는 알고리즘
+            throw new IllegalStateException(e);
+        }
+    }
+
+    //캐시 항목은 토큰의 만료시각(exp)까지만 유지
+    private static class TokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String tokenHash, Claims claims, long currentTime) {
+            long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String tokenHash, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String tokenHash, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
 }
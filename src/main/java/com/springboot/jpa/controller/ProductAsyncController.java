@@ -0,0 +1,106 @@
+package com.springboot.jpa.controller;
+
+import com.springboot.jpa.data.dto.ProductDto;
+import com.springboot.jpa.data.dto.ProductPageResponseDto;
+import com.springboot.jpa.data.dto.ProductResponseDto;
+import com.springboot.jpa.data.dto.ProductSearchDto;
+import com.springboot.jpa.dto.ChangeProductNameDto;
+import com.springboot.jpa.service.ProductService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static com.springboot.jpa.config.ProductExecutorConfiguration.PRODUCT_TASK_EXECUTOR;
+
+/**
+ * 비동기 상품 API - /product 와 같은 기능
+ *  - 요청 스레드는 작업을 productTaskExecutor에 넘기고 바로 반환 (JDBC 호출 동안 Tomcat 스레드를 잡지 않음)
+ *  - executor 큐가 가득 차면 대기시키지 않고 바로 503 + Retry-After
+ */
+@RestController
+@RequestMapping("/async/product")
+public class ProductAsyncController {
+
+    private final ProductService productService;
+    private final ThreadPoolTaskExecutor productTaskExecutor;
+    private final String retryAfterSeconds;
+
+    public ProductAsyncController(ProductService productService,
+                                  @Qualifier(PRODUCT_TASK_EXECUTOR) ThreadPoolTaskExecutor productTaskExecutor,
+                                  @Value("${springboot.product.async.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.productService = productService;
+        this.productTaskExecutor = productTaskExecutor;
+        this.retryAfterSeconds = String.valueOf(retryAfterSeconds);
+    }
+
+    @GetMapping
+    public CompletableFuture<ResponseEntity<ProductResponseDto>> getProduct(Long number) {
+        return supply(() -> productService.getProduct(number));
+    }
+
+    @GetMapping("/list")
+    public CompletableFuture<ResponseEntity<ProductPageResponseDto>> getProducts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return supply(() -> productService.getProducts(cursor, size));
+    }
+
+    @GetMapping("/search")
+    public CompletableFuture<ResponseEntity<List<ProductResponseDto>>> searchProducts(ProductSearchDto productSearchDto) {
+        return supply(() -> productService.searchProducts(productSearchDto));
+    }
+
+    @PostMapping
+    public CompletableFuture<ResponseEntity<ProductResponseDto>> createProduct(@RequestBody ProductDto productDto) {
+        return supply(() -> productService.saveProduct(productDto));
+    }
+
+    @PutMapping
+    public CompletableFuture<ResponseEntity<ProductResponseDto>> changeProductName(@RequestBody ChangeProductNameDto changeProductNameDto) {
+        return supply(() -> {
+            try {
+                return productService.changeProductName(changeProductNameDto.getNumber(), changeProductNameDto.getName());
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    @DeleteMapping
+    public CompletableFuture<ResponseEntity<String>> deleteProduct(Long number) {
+        return supply(() -> {
+            try {
+                productService.deleteProduct(number);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            return "Delete product successfully";
+        });
+    }
+
+    //executor 포화 - 큐에 쌓지 않고 재시도 시점을 알려줌
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<String> handleRejected(TaskRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds)
+                .body("Too many requests in progress");
+    }
+
+    //작업 제출이 거절되면 TaskRejectedException이 여기서 바로 던져짐 (요청 스레드)
+    private <T> CompletableFuture<ResponseEntity<T>> supply(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(() -> ResponseEntity.status(HttpStatus.OK).body(task.get()), productTaskExecutor);
+    }
+}
@@ -0,0 +1,109 @@
+package com.springboot.jpa.controller;
+
+import com.springboot.jpa.data.dto.ProductChangePageDto;
+import com.springboot.jpa.service.ProductChangeService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+
+/**
+ * 상품 변경 피드 - 전체 재조회 대신 마지막으로 받은 위치(since) 이후 변경/삭제만 받아서 동기화
+ *  - GET /product/changes?since={nextCursor}                : 바로 응답 (since 없이 시작하면 전체 상품부터)
+ *  - GET /product/changes?since={nextCursor}&waitSeconds=30 : 변경이 없으면 생길 때까지 대기 (long-poll)
+ *  - GET /product/changes/stream?since={nextCursor}         : SSE, 이벤트 id가 cursor -> 재연결 시 Last-Event-ID로 이어서 받음
+ *  - cursor가 tombstone 보관 기간보다 오래되면 410 (SSE 연결 중이면 "expired" 이벤트 후 종료) -> since 없이 처음부터 다시 동기화
+ */
+@RestController
+@RequestMapping("/product/changes")
+public class ProductChangeController {
+
+    //대기 시간이 지나면 서비스가 빈 페이지로 응답 - 이 여유 안에 응답이 없으면 503
+    private static final long WAIT_MARGIN_MILLIS = 5_000;
+
+    private final ProductChangeService productChangeService;
+    private final long streamTimeoutMillis;
+
+    public ProductChangeController(ProductChangeService productChangeService,
+                                   @Value("${springboot.product.changes.stream-timeout:30m}") Duration streamTimeout) {
+        this.productChangeService = productChangeService;
+        this.streamTimeoutMillis = streamTimeout.toMillis();
+    }
+
+    //기다리는 동안 요청 스레드를 반환 (spring.mvc.async.request-timeout 대신 대기 시간 기준으로 timeout)
+    @GetMapping
+    public DeferredResult<ResponseEntity<ProductChangePageDto>> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "100") int size,
+            @RequestParam(defaultValue = "0") long waitSeconds) {
+        DeferredResult<ResponseEntity<ProductChangePageDto>> deferredResult =
+                new DeferredResult<>(Duration.ofSeconds(waitSeconds).toMillis() + WAIT_MARGIN_MILLIS,
+                        () -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+        Runnable cancel = productChangeService.awaitChanges(since, size, Duration.ofSeconds(waitSeconds),
+                page -> deferredResult.setResult(ResponseEntity.status(HttpStatus.OK).body(page)),
+                deferredResult::setErrorResult); //@ExceptionHandler에서 410
+        deferredResult.onCompletion(cancel);
+        return deferredResult;
+    }
+
+    //변경은 "changes" 이벤트(data : ProductChangePageDto), 변경이 없으면 heartbeat 주석 (id로 cursor만 진행)
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam(required = false) String since,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                                    @RequestParam(defaultValue = "100") int size) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        Runnable cancel = productChangeService.subscribeChanges(lastEventId != null ? lastEventId : since, size,
+                page -> send(emitter, page), e -> sendExpired(emitter, e));
+        emitter.onCompletion(cancel);
+        emitter.onError(e -> cancel.run());
+        //연결 시간 제한 - 클라이언트(EventSource)는 Last-Event-ID로 다시 연결
+        emitter.onTimeout(() -> {
+            cancel.run();
+            emitter.complete();
+        });
+        return emitter;
+    }
+
+    private void send(SseEmitter emitter, ProductChangePageDto page) {
+        try {
+            if (page.getChanges().isEmpty()) {
+                emitter.send(SseEmitter.event().id(page.getNextCursor()).comment("heartbeat"));
+            } else {
+                emitter.send(SseEmitter.event().id(page.getNextCursor()).name("changes")
+                        .data(page, MediaType.APPLICATION_JSON));
+            }
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    //이미 응답(200, text/event-stream)이 시작되어 상태 코드를 바꿀 수 없으므로 이벤트로 알리고 종료
+    private void sendExpired(SseEmitter emitter, ProductChangeService.CursorExpiredException e) {
+        try {
+            emitter.send(SseEmitter.event().name("expired").data(e.getMessage()));
+            emitter.complete();
+        } catch (IOException ioException) {
+            emitter.completeWithError(ioException);
+        }
+    }
+
+    @ExceptionHandler(ProductChangeService.CursorExpiredException.class)
+    public ResponseEntity<String> handleCursorExpired(ProductChangeService.CursorExpiredException e) {
+        return ResponseEntity.status(HttpStatus.GONE).body(e.getMessage());
+    }
+
+    //동시 구독 수 초과
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<String> handleRejected(TaskRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+    }
+}
@@ -1,24 +1,90 @@
 package com.springboot.jpa.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.springboot.jpa.data.dto.ProductDto;
+import com.springboot.jpa.data.dto.ProductPageResponseDto;
 import com.springboot.jpa.data.dto.ProductResponseDto;
+import com.springboot.jpa.data.dto.ProductSearchDto;
 import com.springboot.jpa.dto.ChangeProductNameDto;
+import com.springboot.jpa.dto.ProductBatchDto;
+import com.springboot.jpa.dto.ReserveStockDto;
 import com.springboot.jpa.service.ProductService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/product")
 public class ProductController {
     private final ProductService productService;
+    private final ObjectMapper objectMapper;
 
+    //조건부 조회 - If-None-Match(ETag) 또는 If-Modified-Since가 현재 버전과 같으면 본문 없이 304
+    //검증값(updatedAt)은 본문과 같은 DTO(상품 캐시 또는 스냅샷 레코드)에서 가져옴 -> ETag와 본문이 항상 같은 버전
+    //304 응답은 JSON 직렬화 없이 처리됨
     @GetMapping
-    public ResponseEntity<ProductResponseDto> getProduct(Long number) {
+    public ResponseEntity<ProductResponseDto> getProduct(Long number, WebRequest webRequest) {
         ProductResponseDto productResponseDto = productService.getProduct(number);
-        return ResponseEntity.status(HttpStatus.OK).body(productResponseDto);
+        LocalDateTime updatedAt = productResponseDto.getUpdatedAt();
+        if (updatedAt != null && webRequest.checkNotModified(eTag(number, updatedAt), lastModified(updatedAt))) {
+            return null;
+        }
+
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(HttpStatus.OK);
+        if (updatedAt != null) {
+            //Spring Security 기본 헤더(no-store) 대신 저장은 하되 매번 재검증하도록
+            responseBuilder.cacheControl(CacheControl.noCache());
+        }
+        return responseBuilder.body(productResponseDto);
+    }
+
+    //목록 조회 (keyset 페이징) - 응답의 nextCursor를 다음 요청의 cursor로 전달
+    @GetMapping("/list")
+    public ResponseEntity<ProductPageResponseDto> getProducts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        ProductPageResponseDto productPageResponseDto = productService.getProducts(cursor, size);
+        return ResponseEntity.status(HttpStatus.OK).body(productPageResponseDto);
+    }
+
+    //전체 목록을 JSON 배열로 조금씩 써서 응답 (전체 결과를 메모리에 모으지 않음)
+    @GetMapping("/list/stream")
+    public ResponseEntity<StreamingResponseBody> streamProducts() {
+        StreamingResponseBody responseBody = outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                generator.writeStartArray();
+                productService.streamProducts(productResponseDto -> {
+                    try {
+                        generator.writeObject(productResponseDto);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.status(HttpStatus.OK).contentType(MediaType.APPLICATION_JSON).body(responseBody);
+    }
+
+    //검색 - 예) /product/search?name=펜&minPrice=1000&maxPrice=5000&inStock=true
+    @GetMapping("/search")
+    public ResponseEntity<List<ProductResponseDto>> searchProducts(ProductSearchDto productSearchDto) {
+        List<ProductResponseDto> productResponseDtos = productService.searchProducts(productSearchDto);
+        return ResponseEntity.status(HttpStatus.OK).body(productResponseDtos);
     }
 
     @PostMapping
@@ -27,6 +93,13 @@ public class ProductController {
         return ResponseEntity.status(HttpStatus.OK).body(productResponseDto);
     }
 
+    //대량 등록 - 한 번의 요청으로 여러 상품을 배치 insert
+    @PostMapping("/batch")
+    public ResponseEntity<List<ProductResponseDto>> createProducts(@RequestBody List<ProductDto> productDtos) {
+        List<ProductResponseDto> productResponseDtos = productService.saveProducts(productDtos);
+        return ResponseEntity.status(HttpStatus.OK).body(productResponseDtos);
+    }
+
     @PutMapping
     public ResponseEntity<ProductResponseDto> changeProductName(@RequestBody ChangeProductNameDto changeProductNameDto) throws Exception {
         ProductResponseDto productResponseDto = productService.changeProductName(
@@ -35,6 +108,23 @@ public class ProductController {
         return ResponseEntity.status(HttpStatus.OK).body(productResponseDto);
     }
 
+    //벌크 이름 변경 - 예) {"numbers":[1,2,3],"name":"연필"} 또는 {"namePrefix":"펜","name":"연필"}, 응답은 변경된 행 수
+    @PutMapping("/batch")
+    public ResponseEntity<Integer> changeProductNames(@RequestBody ProductBatchDto productBatchDto) {
+        int updatedCount = productService.changeProductNames(productBatchDto);
+        return ResponseEntity.status(HttpStatus.OK).body(updatedCount);
+    }
+
+    //재고 차감 - 재고가 부족하면 409
+    @PostMapping("/reserve")
+    public ResponseEntity<String> reserveStock(@RequestBody ReserveStockDto reserveStockDto) {
+        boolean reserved = productService.reserveStock(reserveStockDto.getNumber(), reserveStockDto.getQuantity());
+        if (!reserved) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Out of stock");
+        }
+        return ResponseEntity.status(HttpStatus.OK).body("Reserve stock successfully");
+    }
+
     @DeleteMapping
     public ResponseEntity<String> deleteProduct(Long number) throws Exception {
         productService.deleteProduct(number);
@@ -42,4 +132,20 @@ public class ProductController {
         return ResponseEntity.status(HttpStatus.OK).body("Delete product successfully");
     }
 
+    //벌크 삭제 - 예) {"numbers":[1,2,3]} 또는 {"namePrefix":"펜"}, 응답은 삭제된 행 수
+    @DeleteMapping("/batch")
+    public ResponseEntity<Integer> deleteProducts(@RequestBody ProductBatchDto productBatchDto) {
+        int deletedCount = productService.deleteProducts(productBatchDto);
+        return ResponseEntity.status(HttpStatus.OK).body(deletedCount);
+    }
+
+    //ETag : number + updatedAt (마이크로초까지 - 같은 초 안의 변경도 구분)
+    private String eTag(Long number, LocalDateTime updatedAt) {
+        return "\"" + number + "-" + updatedAt.toEpochSecond(ZoneOffset.UTC) + "." + updatedAt.getNano() / 1_000 + "\"";
+    }
+
+    private long lastModified(LocalDateTime updatedAt) {
+        return updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
 }
@@ -0,0 +1,61 @@
+package com.springboot.jpa.controller;
+
+import com.springboot.jpa.service.ProductExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 상품 전체 덤프 다운로드 - 예) /product/export?format=csv&gzip=true
+ *  - 응답 스트림에 바로 써서 내보냄 (전체 결과를 메모리에 모으지 않음)
+ *  - StreamingResponseBody(비동기)는 spring.mvc.async.request-timeout(10s)에 끊기므로 요청 스레드에서 직접 씀
+ *  - gzip=true : 파일 자체를 gzip으로 (products.csv.gz) / false면 Accept-Encoding에 따라 server.compression 적용
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/product/export")
+public class ProductExportController {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+    private static final MediaType APPLICATION_GZIP = MediaType.parseMediaType("application/gzip");
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final ProductExportService productExportService;
+
+    @GetMapping
+    public void exportProducts(@RequestParam(defaultValue = ProductExportService.NDJSON) String format,
+                               @RequestParam(defaultValue = "false") boolean gzip,
+                               HttpServletResponse response) throws IOException {
+        MediaType mediaType;
+        if (ProductExportService.CSV.equals(format)) {
+            mediaType = TEXT_CSV;
+        } else if (ProductExportService.NDJSON.equals(format)) {
+            mediaType = MediaType.APPLICATION_NDJSON;
+        } else {
+            throw new IllegalArgumentException("지원하지 않는 형식 : " + format);
+        }
+        String fileName = "products." + format + (gzip ? ".gz" : "");
+
+        response.setContentType((gzip ? APPLICATION_GZIP : mediaType).toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString());
+
+        OutputStream outputStream = response.getOutputStream();
+        if (!gzip) {
+            productExportService.exportProducts(format, outputStream);
+            return;
+        }
+        GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE);
+        productExportService.exportProducts(format, gzipOutputStream);
+        gzipOutputStream.finish();
+    }
+}
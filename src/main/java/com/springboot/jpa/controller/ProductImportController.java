@@ -0,0 +1,53 @@
+package com.springboot.jpa.controller;
+
+import com.springboot.jpa.data.dto.ProductImportJobDto;
+import com.springboot.jpa.data.entity.ProductImportJob;
+import com.springboot.jpa.service.ProductImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+
+/**
+ * 상품 파일 import - 요청 본문을 스트림으로 받아 줄 단위로 처리 (multipart 임시 파일, 전체 버퍼링 없음)
+ *  - 예) curl -X POST -H 'Content-Type: text/csv' --data-binary @products.csv /product/import
+ *  - 실패(500) 응답의 id로 같은 파일을 다시 올리면 마지막 커밋 다음 줄부터 이어서 처리 : /product/import?jobId={id}
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/product/import")
+public class ProductImportController {
+
+    private final ProductImportService productImportService;
+
+    @PostMapping(consumes = "text/csv")
+    public ResponseEntity<ProductImportJobDto> importCsv(InputStream inputStream,
+                                                         @RequestParam(required = false) Long jobId) {
+        return toResponse(productImportService.importProducts(inputStream, ProductImportService.CSV, jobId));
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ProductImportJobDto> importNdjson(InputStream inputStream,
+                                                            @RequestParam(required = false) Long jobId) {
+        return toResponse(productImportService.importProducts(inputStream, ProductImportService.NDJSON, jobId));
+    }
+
+    //진행 상황 (처리 중에도 커밋된 청크까지 반영)
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ProductImportJobDto> getImportJob(@PathVariable Long jobId) {
+        return ResponseEntity.status(HttpStatus.OK).body(productImportService.getImportJob(jobId));
+    }
+
+    //완료 200, 실패 500 (재시작 가능), 다른 요청이 같은 작업을 처리 중이면 409
+    private ResponseEntity<ProductImportJobDto> toResponse(ProductImportJobDto productImportJobDto) {
+        HttpStatus status = switch (productImportJobDto.getStatus()) {
+            case ProductImportJob.COMPLETED -> HttpStatus.OK;
+            case ProductImportJob.FAILED -> HttpStatus.INTERNAL_SERVER_ERROR;
+            default -> HttpStatus.CONFLICT;
+        };
+        return ResponseEntity.status(status).body(productImportJobDto);
+    }
+}
@@ -0,0 +1,41 @@
+package com.springboot.jpa.data.dto;
+
+import com.springboot.jpa.data.entity.Product;
+import com.springboot.jpa.data.entity.ProductTombstone;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 변경 피드 항목 (immutable)
+ *  - 변경/추가 : 현재 상품 내용 + 수정 시각
+ *  - 삭제(tombstone) : deleted = true, 번호와 삭제 시각만 (name, price, stock은 null)
+ */
+@Getter
+public class ProductChangeDto {
+    private final Long number;
+    private final String name;
+    private final Integer price;
+    private final Integer stock;
+    private final LocalDateTime changedAt;
+    private final boolean deleted;
+
+    private ProductChangeDto(Long number, String name, Integer price, Integer stock,
+                             LocalDateTime changedAt, boolean deleted) {
+        this.number = number;
+        this.name = name;
+        this.price = price;
+        this.stock = stock;
+        this.changedAt = changedAt;
+        this.deleted = deleted;
+    }
+
+    public static ProductChangeDto from(Product product) {
+        return new ProductChangeDto(product.getNumber(), product.getName(), product.getPrice(), product.getStock(),
+                product.getUpdatedAt(), false);
+    }
+
+    public static ProductChangeDto from(ProductTombstone tombstone) {
+        return new ProductChangeDto(tombstone.getNumber(), null, null, null, tombstone.getDeletedAt(), true);
+    }
+}
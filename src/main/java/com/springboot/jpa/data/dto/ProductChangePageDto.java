@@ -0,0 +1,27 @@
+package com.springboot.jpa.data.dto;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 변경 피드 응답 ((changedAt, number) 순)
+ *  nextCursor : 다음 요청의 since로 그대로 넘겨주는 값 (변경이 없어도 항상 있음 - 확인한 시점까지 진행)
+ *  hasMore    : 바로 이어서 가져올 변경이 더 있으면 true
+ */
+@Getter
+public class ProductChangePageDto {
+    private final List<ProductChangeDto> changes;
+    private final String nextCursor;
+    private final boolean hasMore;
+
+    private ProductChangePageDto(List<ProductChangeDto> changes, String nextCursor, boolean hasMore) {
+        this.changes = changes;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    public static ProductChangePageDto of(List<ProductChangeDto> changes, String nextCursor, boolean hasMore) {
+        return new ProductChangePageDto(changes, nextCursor, hasMore);
+    }
+}
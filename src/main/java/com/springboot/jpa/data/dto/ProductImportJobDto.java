@@ -0,0 +1,44 @@
+package com.springboot.jpa.data.dto;
+
+import com.springboot.jpa.data.entity.ProductImportJob;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 상품 import 작업 진행 상황 응답
+ *  - rowsPerSecond : 커밋된 줄 수 / 청크 처리 시간 합계
+ *  - errors : 이번 요청에서 거부된 줄 (앞에서부터 일부만)
+ */
+@Getter
+public class ProductImportJobDto {
+    private final Long id;
+    private final String format;
+    private final String status;
+    private final long committedLines;
+    private final long importedCount;
+    private final long rejectedCount;
+    private final double rowsPerSecond;
+    private final String errorMessage;
+    private final List<String> errors;
+
+    private ProductImportJobDto(ProductImportJob job, List<String> errors) {
+        this.id = job.getId();
+        this.format = job.getFormat();
+        this.status = job.getStatus();
+        this.committedLines = job.getCommittedLines();
+        this.importedCount = job.getImportedCount();
+        this.rejectedCount = job.getRejectedCount();
+        this.rowsPerSecond = job.getElapsedMillis() == 0 ? 0 : job.getCommittedLines() * 1000.0 / job.getElapsedMillis();
+        this.errorMessage = job.getErrorMessage();
+        this.errors = errors;
+    }
+
+    public static ProductImportJobDto from(ProductImportJob job) {
+        return new ProductImportJobDto(job, List.of());
+    }
+
+    public static ProductImportJobDto from(ProductImportJob job, List<String> errors) {
+        return new ProductImportJobDto(job, List.copyOf(errors));
+    }
+}
@@ -0,0 +1,24 @@
+package com.springboot.jpa.data.dto;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 상품 목록 응답용 (keyset 페이징)
+ * nextCursor : 다음 페이지 요청 시 그대로 넘겨주는 값 (마지막 페이지면 null)
+ */
+@Getter
+public class ProductPageResponseDto {
+    private final List<ProductResponseDto> products;
+    private final String nextCursor;
+
+    private ProductPageResponseDto(List<ProductResponseDto> products, String nextCursor) {
+        this.products = products;
+        this.nextCursor = nextCursor;
+    }
+
+    public static ProductPageResponseDto of(List<ProductResponseDto> products, String nextCursor) {
+        return new ProductPageResponseDto(products, nextCursor);
+    }
+}
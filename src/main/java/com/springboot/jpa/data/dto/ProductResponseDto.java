@@ -1,8 +1,11 @@
 package com.springboot.jpa.data.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.springboot.jpa.data.entity.Product;
 import lombok.Getter;
 
+import java.time.LocalDateTime;
+
 /**
  * 응답용 (Entity -> dto -> 클라이언트)
  * 외부에서 수정 불가 (immutable)
@@ -18,12 +21,22 @@ public class ProductResponseDto {
     private final String name;
     private final int  price;
     private final int stock;
+    //조건부 조회(ETag/Last-Modified) 검증값 - 본문과 같은 레코드에서 가져오도록 함께 캐시, 응답 본문에는 넣지 않음
+    //null이면 검증값 없음 (목록 조회, DB 반영 전 이름 변경 등)
+    @JsonIgnore
+    private final LocalDateTime updatedAt;
+
+    //JPQL/Criteria 생성자 표현식(select new ...)으로 엔티티 없이 바로 만들 수 있도록 public
+    public ProductResponseDto(Long number, String name, int price, int stock) {
+        this(number, name, price, stock, null);
+    }
 
-    private ProductResponseDto(Long number, String name, int price, int stock) {
+    public ProductResponseDto(Long number, String name, int price, int stock, LocalDateTime updatedAt) {
         this.number = number;
         this.name = name;
         this.price = price;
         this.stock = stock;
+        this.updatedAt = updatedAt;
     }
 
     //테스트용 팩토리 메서드
@@ -31,6 +44,10 @@ public class ProductResponseDto {
         return new ProductResponseDto(number, name, price, stock);
     }
 
+    public static ProductResponseDto of(Long number, String name, int price, int stock, LocalDateTime updatedAt) {
+        return new ProductResponseDto(number, name, price, stock, updatedAt);
+    }
+
 
 
     //Entity로부터 변환하는 메서드이므로 Entity에서 값을 받아 DTO로 변환하기
@@ -39,7 +56,8 @@ public class ProductResponseDto {
                 product.getNumber(),
                 product.getName(),
                 product.getPrice(),
-                product.getStock()
+                product.getStock(),
+                product.getUpdatedAt()
         );
     }
 
@@ -0,0 +1,20 @@
+package com.springboot.jpa.data.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 상품 검색 조건 (GET /product/search 쿼리 파라미터 바인딩용)
+ * 값이 없는(null) 조건은 검색에서 제외
+ */
+@NoArgsConstructor
+@Getter
+@Setter
+public class ProductSearchDto {
+    private String name;        //이름 prefix
+    private Integer minPrice;
+    private Integer maxPrice;
+    private boolean inStock;    //true면 재고 있는 상품만
+    private int size = 20;
+}
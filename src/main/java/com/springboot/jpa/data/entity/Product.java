@@ -11,11 +11,23 @@ import java.time.LocalDateTime;
 @ToString(exclude = "name")
 @NoArgsConstructor(access = AccessLevel.PROTECTED) //jpa용
 @AllArgsConstructor(access = AccessLevel.PROTECTED)
-@Table(name = "product")
+//검색 조건용 인덱스 : 이름 prefix(+가격), 가격 범위(+재고) / 변경분 조회용 : (수정 시각, 번호) keyset
+@Table(name = "product", indexes = {
+        @Index(name = "idx_product_name_price", columnList = "name, price"),
+        @Index(name = "idx_product_price_stock", columnList = "price, stock"),
+        @Index(name = "idx_product_updated_at_number", columnList = "updated_at, number")
+})
 public class Product {
 
+    //시퀀스 한 번 조회로 할당받는 ID 개수 (hibernate.jdbc.batch_size와 맞춰둠)
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    //IDENTITY 전략은 insert 시점에 DB가 키를 만들어야 해서 Hibernate가 JDBC 배치 insert를 할 수 없음
+    //-> 시퀀스 + pooled 옵티마이저로 allocationSize 만큼 ID를 미리 할당받아 배치 insert 가능하게 함
+    //  (시퀀스를 지원하지 않는 MySQL에서는 Hibernate가 product_seq 테이블로 대체해서 같은 방식으로 동작)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq_generator")
+    @SequenceGenerator(name = "product_seq_generator", sequenceName = "product_seq", allocationSize = Product.ID_ALLOCATION_SIZE)
     private Long number;
 
     @Column(nullable = false)
@@ -31,6 +43,10 @@ public class Product {
 
     private LocalDateTime updatedAt;
 
+    //낙관적 락 : 엔티티 수정 시 version 비교 -> 그 사이 다른 트랜잭션이 바꿨으면 OptimisticLockException
+    @Version
+    private Long version;
+
 //    private Product(Long number, String name, Integer price, Integer stock, LocalDateTime createdAt, LocalDateTime updatedAt) {
 //        this.number = number;
 //        this.name = name;
@@ -46,7 +62,7 @@ public class Product {
      */
     //객체 생성
     public static Product create(String name, int price, Integer stock) {
-        return new Product(null, name, price, stock, null, null);
+        return new Product(null, name, price, stock, null, null, null);
     }
 
     //상태 변경 (setter 대신)
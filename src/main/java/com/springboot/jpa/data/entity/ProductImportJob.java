@@ -0,0 +1,95 @@
+package com.springboot.jpa.data.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 상품 파일 import 작업 진행 상태
+ *  - committedLines : 커밋까지 끝난 데이터 줄 수 (헤더 제외) -> 실패 후 같은 파일을 다시 올리면 이 줄 다음부터 이어서 처리
+ *  - 청크 insert와 같은 트랜잭션에서 갱신하므로 상품 insert와 진행 상태가 어긋나지 않음
+ */
+@Getter
+@Entity
+@ToString
+@NoArgsConstructor(access = AccessLevel.PROTECTED) //jpa용
+public class ProductImportJob {
+
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String format;      //csv, ndjson
+
+    @Column(nullable = false)
+    private String status;
+
+    private long committedLines;
+
+    private long importedCount;
+
+    private long rejectedCount;
+
+    //커밋된 청크 처리에 걸린 시간 합계 (재시작 사이 대기 시간 제외) -> 처리량 계산용
+    private long elapsedMillis;
+
+    @Column(length = 1000)
+    private String errorMessage;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    //같은 작업을 동시에 이어서 처리하면 한쪽 청크 커밋이 실패하도록 (상품 중복 insert 방지)
+    @Version
+    private Long version;
+
+    public static ProductImportJob create(String format) {
+        ProductImportJob job = new ProductImportJob();
+        job.format = format;
+        job.status = RUNNING;
+        return job;
+    }
+
+    //청크 하나 커밋
+    public void commitChunk(int lineCount, int importedCount, int rejectedCount, long elapsedMillis) {
+        this.committedLines += lineCount;
+        this.importedCount += importedCount;
+        this.rejectedCount += rejectedCount;
+        this.elapsedMillis += elapsedMillis;
+    }
+
+    public void restart() {
+        this.status = RUNNING;
+        this.errorMessage = null;
+    }
+
+    public void complete() {
+        this.status = COMPLETED;
+    }
+
+    public void fail(String errorMessage) {
+        this.status = FAILED;
+        this.errorMessage = errorMessage != null && errorMessage.length() > 1000
+                ? errorMessage.substring(0, 1000)
+                : errorMessage;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        LocalDateTime now = LocalDateTime.now();
+        this.createdAt = now;
+        this.updatedAt = now;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,35 @@
+package com.springboot.jpa.data.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 삭제된 상품 기록 (변경 피드용) - 삭제된 행은 updatedAt으로 찾을 수 없으므로 삭제와 같은 트랜잭션에서 남김
+ *  - number : 삭제된 상품 번호 (시퀀스 채번이라 다시 쓰이지 않으므로 그대로 PK)
+ *  - tombstone-retention이 지나면 삭제 (ProductChangeServiceImpl)
+ */
+@Getter
+@Entity
+@ToString
+@NoArgsConstructor(access = AccessLevel.PROTECTED) //jpa용
+//변경 피드 keyset : (삭제 시각, 번호)
+@Table(name = "product_tombstone", indexes = {
+        @Index(name = "idx_product_tombstone_deleted_at_number", columnList = "deleted_at, number")
+})
+public class ProductTombstone {
+
+    @Id
+    private Long number;
+
+    @Column(nullable = false)
+    private LocalDateTime deletedAt;
+
+    public static ProductTombstone create(Long number, LocalDateTime deletedAt) {
+        ProductTombstone tombstone = new ProductTombstone();
+        tombstone.number = number;
+        tombstone.deletedAt = deletedAt;
+        return tombstone;
+    }
+}
@@ -23,6 +23,7 @@ import java.util.stream.Collectors;
 @AllArgsConstructor
 @Builder
 @Table
+@EntityListeners(UserCacheEvictionListener.class) //수정/삭제 시 인증용 사용자 캐시 제거
 public class User implements UserDetails { //사용자 인증 정보로 사용
 
     @Id
@@ -0,0 +1,45 @@
+package com.springboot.jpa.data.entity;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * User 엔티티가 수정/삭제되면 사용자 캐시에서 제거하는 JPA 엔티티 리스너 (엔티티 생명주기 콜백이므로 엔티티와 같은 패키지)
+ *  - Spring Boot가 Hibernate에 SpringBeanContainer를 설정해주므로 생성자 주입 가능
+ *  - UserCache 빈이 없는 환경(@DataJpaTest 등)에서도 엔티티 로딩이 되도록 ObjectProvider로 주입
+ *  - @PostUpdate/@PostRemove는 flush 시점(커밋 전)에 호출되므로 제거는 커밋 이후로 미룸
+ *    (바로 제거하면 커밋 전에 다른 요청이 이전 권한을 다시 캐시할 수 있음)
+ *  - roles(@ElementCollection)만 바꾼 경우엔 User 업데이트 이벤트가 발생하지 않을 수 있으므로
+ *    UserDetailsServiceImpl.changeRoles / evictUser를 사용해야 함
+ */
+@RequiredArgsConstructor
+public class UserCacheEvictionListener {
+
+    private final ObjectProvider<UserCache> userCacheProvider;
+
+    @PostUpdate
+    @PostRemove
+    public void evict(User user) {
+        String uid = user.getUid();
+        userCacheProvider.ifAvailable(userCache -> afterCommit(() -> userCache.removeUserFromCache(uid)));
+    }
+
+    //트랜잭션 안이면 커밋 이후에, 아니면 바로 실행 (롤백되면 캐시는 그대로)
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,7 @@
+package com.springboot.jpa.data.repository;
+
+import com.springboot.jpa.data.entity.ProductImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ProductImportJobRepository extends JpaRepository<ProductImportJob, Long> {
+}
@@ -1,7 +1,80 @@
 package com.springboot.jpa.data.repository;
 
+import com.springboot.jpa.data.dto.ProductResponseDto;
 import com.springboot.jpa.data.entity.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ProductJpaRepository extends JpaRepository<Product, Long> {
+
+    //조회 전용 - 생성자 표현식으로 DTO를 바로 생성 (엔티티 인스턴스, 스냅샷, 영속성 컨텍스트 등록 없음)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    //updatedAt도 함께 조회 - 캐시된 DTO 하나로 본문과 조건부 조회 검증값(ETag)을 같이 만듦
+    @Query("select new com.springboot.jpa.data.dto.ProductResponseDto(p.number, p.name, p.price, p.stock, p.updatedAt) "
+            + "from Product p where p.number = :number")
+    Optional<ProductResponseDto> findResponseByNumber(@Param("number") Long number);
+
+    //write-behind 등록 시 현재 version (반영할 때 낙관적 락 조건)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select p.version from Product p where p.number = :number")
+    Optional<Long> findVersionByNumber(@Param("number") Long number);
+
+    //keyset(seek) 페이징 : where number > :after order by number limit :n
+    //PK 인덱스로 시작 위치를 바로 찾으므로 offset 페이징처럼 앞 페이지 행들을 읽고 버리지 않음
+    List<Product> findByNumberGreaterThanOrderByNumberAsc(Long number, Limit limit);
+
+    //(updatedAt, number) keyset : 마지막으로 읽은 (수정 시각, 번호) 이후 변경된 상품 (idx_product_updated_at_number 사용)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select p from Product p where p.updatedAt > :updatedAt or (p.updatedAt = :updatedAt and p.number > :number) "
+            + "order by p.updatedAt, p.number")
+    List<Product> findUpdatedAfter(@Param("updatedAt") LocalDateTime updatedAt, @Param("number") Long number, Limit limit);
+
+    //findUpdatedAfter + 상한(until) : 변경 피드는 아직 커밋되지 않았을 수 있는 최근 구간을 제외하고 응답
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select p from Product p "
+            + "where (p.updatedAt > :updatedAt or (p.updatedAt = :updatedAt and p.number > :number)) and p.updatedAt <= :until "
+            + "order by p.updatedAt, p.number")
+    List<Product> findUpdatedBetween(@Param("updatedAt") LocalDateTime updatedAt, @Param("number") Long number,
+                                     @Param("until") LocalDateTime until, Limit limit);
+
+    //전체 상품을 한 번에 메모리에 올리지 않고 fetch size 단위로 읽어오는 스트림 (트랜잭션 안에서 사용 후 close 필요)
+    //MySQL은 useCursorFetch=true 일 때만 fetch size 단위로 가져옴
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p from Product p order by p.number")
+    Stream<Product> streamAllOrderByNumber();
+
+    //재고 조건부 차감 (조회 없이 UPDATE 한 번으로 확인 + 차감 -> 재고가 음수가 될 수 없음)
+    //벌크 연산은 @Version, @PreUpdate가 적용되지 않으므로 version, updatedAt 직접 변경
+    //반환값 : 변경된 행 수 (0이면 재고 부족 또는 상품 없음)
+    @Modifying(clearAutomatically = true)
+    @Query("update Product p set p.stock = p.stock - :quantity, p.version = p.version + 1, p.updatedAt = :now "
+            + "where p.number = :number and p.stock >= :quantity")
+    int decreaseStock(@Param("number") Long number, @Param("quantity") int quantity, @Param("now") LocalDateTime now);
+
+    //벌크 삭제 - 엔티티를 읽지 않고 DELETE 한 번 (IN 목록 크기는 호출하는 쪽에서 나눠서 전달)
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Product p where p.number in :numbers")
+    int deleteByNumberIn(@Param("numbers") Collection<Long> numbers);
+
+    //벌크 이름 변경 - decreaseStock과 같은 이유로 version, updatedAt 직접 변경
+    @Modifying(clearAutomatically = true)
+    @Query("update Product p set p.name = :name, p.version = p.version + 1, p.updatedAt = :now "
+            + "where p.number in :numbers")
+    int updateNameByNumberIn(@Param("numbers") Collection<Long> numbers, @Param("name") String name,
+                             @Param("now") LocalDateTime now);
 }
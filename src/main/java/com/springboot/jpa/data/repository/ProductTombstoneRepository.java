@@ -0,0 +1,35 @@
+package com.springboot.jpa.data.repository;
+
+import com.springboot.jpa.data.entity.ProductTombstone;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ProductTombstoneRepository extends JpaRepository<ProductTombstone, Long> {
+
+    //(deletedAt, number) keyset : 마지막으로 읽은 위치 이후 ~ until까지 삭제된 상품 (idx_product_tombstone_deleted_at_number 사용)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select t from ProductTombstone t "
+            + "where (t.deletedAt > :deletedAt or (t.deletedAt = :deletedAt and t.number > :number)) and t.deletedAt <= :until "
+            + "order by t.deletedAt, t.number")
+    List<ProductTombstone> findDeletedBetween(@Param("deletedAt") LocalDateTime deletedAt, @Param("number") Long number,
+                                              @Param("until") LocalDateTime until, Limit limit);
+
+    //벌크 삭제 전에 실행 - 지워질 상품 번호를 읽어오지 않고 insert ... select 한 번으로 기록
+    @Modifying
+    @Query("insert into ProductTombstone (number, deletedAt) select p.number, :now from Product p where p.number in :numbers")
+    int insertByNumberIn(@Param("numbers") Collection<Long> numbers, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("delete from ProductTombstone t where t.deletedAt < :before")
+    int deleteByDeletedAtBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,18 @@
+package com.springboot.jpa.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * 벌크 삭제 / 이름 변경 대상 (DELETE, PUT /product/batch)
+ * numbers(상품 번호 목록) 또는 namePrefix(이름 prefix 조건) 중 하나만 지정
+ */
+@Getter
+@Setter
+public class ProductBatchDto {
+    private List<Long> numbers;
+    private String namePrefix;
+    private String name;        //이름 변경 시 바꿀 이름
+}
@@ -0,0 +1,11 @@
+package com.springboot.jpa.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class ReserveStockDto {
+    private Long number;
+    private int quantity;
+}
@@ -0,0 +1,39 @@
+package com.springboot.jpa.repository;
+
+import com.springboot.jpa.data.entity.Product;
+import com.springboot.jpa.data.entity.ProductImportJob;
+import com.springboot.jpa.data.repository.ProductImportJobRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * import 청크 하나를 한 트랜잭션으로 커밋 (상품 배치 insert + 작업 진행 상태 갱신)
+ *  - 중간에 실패하면 청크 전체가 롤백되고 committedLines도 그대로 -> 재시작 시 이 청크부터 다시 처리
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductImportWriter {
+
+    private final ProductRepository productRepository;
+    private final ProductImportJobRepository productImportJobRepository;
+
+    //expectedCommittedLines : 이 청크를 읽기 시작한 위치 - 다르면 다른 요청이 같은 작업을 처리 중
+    @Transactional
+    public ProductImportJob writeChunk(Long jobId, long expectedCommittedLines, List<Product> products,
+                                       int lineCount, int rejectedCount, long elapsedMillis) {
+        //insertProducts가 영속성 컨텍스트를 clear하므로 job은 insert 이후에 조회해서 변경
+        productRepository.insertProducts(products);
+        ProductImportJob job = productImportJobRepository.findById(jobId).orElseThrow(NoSuchElementException::new);
+        if (job.getCommittedLines() != expectedCommittedLines) {
+            //예외로 롤백 -> 방금 insert한 상품도 취소
+            throw new OptimisticLockingFailureException("다른 요청이 같은 import 작업을 처리 중입니다. jobId : " + jobId);
+        }
+        job.commitChunk(lineCount, products.size(), rejectedCount, elapsedMillis);
+        return job;
+    }
+}
@@ -0,0 +1,240 @@
+package com.springboot.jpa.repository;
+
+import com.springboot.jpa.service.ProductSnapshot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import static com.springboot.jpa.config.CacheConfiguration.PRODUCT_CACHE;
+
+/**
+ * 상품 이름 변경 write-behind 버퍼 (springboot.product.write-behind.enabled=true 일 때 사용)
+ *  - 같은 상품의 연속 변경은 메모리에서 합쳐서 마지막 이름만 남김
+ *  - batch-size 이상 쌓이거나 flush-interval-ms 마다 JDBC 배치 UPDATE로 한 번에 반영
+ *  - 종료 시(@PreDestroy) 남은 변경을 모두 반영
+ *  - 등록할 때 읽은 version이 그대로일 때만 반영 (낙관적 락) -> 그 사이 다른 서버/경로에서 바뀌었으면 반영하지 않고 버림
+ *    (product.write_behind.conflicts 증가, 먼저 커밋된 변경이 우선)
+ *  - 반영 전 단건 조회(getProduct)만 pendingName으로 덮어써서 방금 쓴 값을 읽을 수 있게 함 (read-your-writes)
+ *    목록/검색/스트림/export/변경 피드/스냅샷은 DB 기준이므로 flush 전까지(최대 flush-interval-ms) 이전 이름
+ *  - 프로세스가 비정상 종료되면 아직 반영하지 않은 변경은 유실됨
+ */
+@Component
+public class ProductNameWriteBehind {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(ProductNameWriteBehind.class);
+
+    //벌크 UPDATE이므로 @Version, @PreUpdate 대신 version 조건 + version, updated_at 직접 변경
+    private static final String UPDATE_NAME_SQL =
+            "update product set name = ?, updated_at = ?, version = version + 1 where number = ? and version = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheManager cacheManager;
+    private final ProductSnapshot productSnapshot;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+
+    //number -> 아직 DB에 반영하지 않은 마지막 이름 + 등록할 때 읽은 version
+    private final Map<Long, PendingName> pendingNames = new ConcurrentHashMap<>();
+    //flush는 한 번에 하나만 (synchronized 대신 ReentrantLock - 가상 스레드 pinning 방지)
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final Timer flushTimer;
+    private final Counter flushedCounter;
+    private final Counter conflictCounter;
+
+    private ScheduledExecutorService scheduler;
+
+    public ProductNameWriteBehind(JdbcTemplate jdbcTemplate,
+                                  CacheManager cacheManager,
+                                  ProductSnapshot productSnapshot,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${springboot.product.write-behind.enabled:false}") boolean enabled,
+                                  @Value("${springboot.product.write-behind.batch-size:500}") int batchSize,
+                                  @Value("${springboot.product.write-behind.flush-interval-ms:200}") long flushIntervalMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheManager = cacheManager;
+        this.productSnapshot = productSnapshot;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+
+        Gauge.builder("product.write_behind.queue.depth", pendingNames, Map::size)
+                .description("DB 반영 대기 중인 상품 이름 변경 수")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("product.write_behind.flush")
+                .description("write-behind flush 소요 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.flushedCounter = Counter.builder("product.write_behind.flushed")
+                .description("DB에 반영된 상품 이름 변경 수")
+                .register(meterRegistry);
+        this.conflictCounter = Counter.builder("product.write_behind.conflicts")
+                .description("등록 후 다른 변경이 먼저 커밋되어 버린 상품 이름 변경 수")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "product-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        LOGGER.info("[start] 상품 이름 write-behind 시작 (batchSize : {}, flushInterval : {}ms)", batchSize, flushIntervalMillis);
+    }
+
+    //종료 시 남은 변경 반영
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdown();
+        scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        int flushed = flush();
+        LOGGER.info("[shutdown] 종료 전 write-behind flush 완료, count : {}", flushed);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    //이름 변경 등록 (같은 number의 이전 변경은 덮어씀) - currentVersion : DB의 현재 version 조회
+    //version 조회와 등록을 flush와 겹치지 않게 함 -> 조회 후 등록 전에 이전 변경이 반영되면 이전 version으로 등록되어
+    //다음 flush에서 충돌로 버려짐 (flush 중이면 끝날 때까지 대기)
+    public void offer(Long number, String name, LongSupplier currentVersion) {
+        flushLock.lock();
+        try {
+            pendingNames.put(number, new PendingName(name, currentVersion.getAsLong()));
+        } finally {
+            flushLock.unlock();
+        }
+        if (pendingNames.size() >= batchSize && scheduler != null) {
+            scheduler.execute(this::flushQuietly);
+        }
+    }
+
+    //아직 반영되지 않은 이름 (없으면 null)
+    public String pendingName(Long number) {
+        PendingName pendingName = pendingNames.get(number);
+        return pendingName == null ? null : pendingName.name();
+    }
+
+    //삭제된 상품의 대기 중인 변경 제거
+    public void discard(Long number) {
+        pendingNames.remove(number);
+    }
+
+    public int pendingCount() {
+        return pendingNames.size();
+    }
+
+    //대기 중인 변경을 batchSize 단위 JDBC 배치로 반영, 반영한 건수 반환 (version 충돌로 버린 변경 제외)
+    public int flush() {
+        flushLock.lock();
+        try {
+            if (pendingNames.isEmpty()) {
+                return 0;
+            }
+            Timer.Sample sample = Timer.start();
+            try {
+                return writePendingNames();
+            } finally {
+                sample.stop(flushTimer);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private int writePendingNames() {
+        List<Map.Entry<Long, PendingName>> snapshot = new ArrayList<>();
+        pendingNames.forEach((number, pendingName) -> snapshot.add(Map.entry(number, pendingName)));
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        int flushedCount = 0;
+        for (int from = 0; from < snapshot.size(); from += batchSize) {
+            List<Map.Entry<Long, PendingName>> chunk = snapshot.subList(from, Math.min(from + batchSize, snapshot.size()));
+            int[][] updateCounts = jdbcTemplate.batchUpdate(UPDATE_NAME_SQL, chunk, chunk.size(), (ps, entry) -> {
+                ps.setString(1, entry.getValue().name());
+                ps.setTimestamp(2, now);
+                ps.setLong(3, entry.getKey());
+                ps.setLong(4, entry.getValue().version());
+            });
+
+            Cache productCache = cacheManager.getCache(PRODUCT_CACHE);
+            for (int i = 0; i < chunk.size(); i++) {
+                Map.Entry<Long, PendingName> entry = chunk.get(i);
+                //0 : version이 바뀜(다른 변경이 먼저 커밋) 또는 삭제됨 / 드라이버가 건수를 모르면 SUCCESS_NO_INFO(-2)
+                boolean applied = updateCounts[0][i] != 0;
+                if (applied) {
+                    flushedCount++;
+                } else {
+                    conflictCounter.increment();
+                    LOGGER.warn("[flush] 상품 이름 변경 충돌로 버림, number : {}, version : {}",
+                            entry.getKey(), entry.getValue().version());
+                }
+                if (productCache != null) {
+                    productCache.evict(entry.getKey());
+                }
+                //대기 중인 이름이 없어지면 스냅샷의 이전 이름이 보이므로 다음 변경분 반영 전까지 기존 조회로
+                productSnapshot.evict(entry.getKey());
+                pendingNames.computeIfPresent(entry.getKey(), (number, current) -> afterFlush(entry.getValue(), current, applied));
+            }
+        }
+        flushedCounter.increment(flushedCount);
+        return flushedCount;
+    }
+
+    //반영하는 사이에 같은 상품의 새 이름이 들어왔으면 남겨두고 다음 flush에서 반영
+    //  새 이름도 같은 version을 읽고 등록됐다면 : 반영 성공 -> 이번 flush가 올린 version으로 바꿔둠, 충돌 -> 같이 버림
+    private PendingName afterFlush(PendingName flushed, PendingName current, boolean applied) {
+        if (current.equals(flushed)) {
+            return null;
+        }
+        if (current.version() != flushed.version()) {
+            return current;
+        }
+        return applied ? new PendingName(current.name(), flushed.version() + 1) : null;
+    }
+
+    //스케줄러용 - 실패하면 대기 중인 변경을 그대로 두고 다음 주기에 다시 시도
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (DataAccessException e) {
+            LOGGER.error("[flush] write-behind flush 실패, 다음 주기에 재시도. pending : {}", pendingNames.size(), e);
+        }
+    }
+
+    private record PendingName(String name, long version) {
+    }
+}
@@ -1,6 +1,12 @@
 package com.springboot.jpa.repository;
 
+import com.springboot.jpa.data.dto.ProductResponseDto;
 import com.springboot.jpa.data.entity.Product;
+import com.springboot.jpa.data.entity.ProductTombstone;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * 체크 예외 vs 언체크 예외
@@ -17,14 +23,60 @@ public interface ProductRepository {
     //JPA save에는 이미 예외를 런타임 예외로 던짐 -> 언체크 예외
     Product insertProduct(Product product);
 
+    //대량 저장용 - JDBC 배치 insert로 묶어서 저장
+    List<Product> insertProducts(List<Product> products);
+
     //데이터 없으면 NosSuchElementException (언체크)
     Product selectProduct(Long number);
 
+    //조회 전용 (엔티티 없이 DTO로 바로 조회) - 데이터 없으면 NoSuchElementException
+    ProductResponseDto selectProductResponse(Long number);
+
+    //상품 version 조회 (캐시 없음) - 데이터 없으면 NoSuchElementException
+    Long selectProductVersion(Long number);
+
+    //number가 after보다 큰 상품을 number 순으로 size개 조회 (keyset 페이징)
+    List<Product> selectProductsAfter(Long after, int size);
+
+    //(updatedAt, number)가 주어진 값보다 큰 상품을 (updatedAt, number) 순으로 size개 조회 (변경분 keyset 페이징)
+    List<Product> selectProductsUpdatedAfter(LocalDateTime updatedAt, Long number, int size);
+
+    //변경 피드용 - selectProductsUpdatedAfter와 같지만 updatedAt이 until 이하인 상품만
+    List<Product> selectProductsUpdatedBetween(LocalDateTime updatedAt, Long number, LocalDateTime until, int size);
+
+    //변경 피드용 - (deletedAt, number)가 주어진 값보다 크고 deletedAt이 until 이하인 삭제 기록을 순서대로 size개 조회
+    List<ProductTombstone> selectTombstonesBetween(LocalDateTime deletedAt, Long number, LocalDateTime until, int size);
+
+    //before 이전에 삭제된 기록 제거 (보관 기간 경과) - 반환값은 제거된 행 수
+    int deleteTombstonesBefore(LocalDateTime before);
+
+    //전체 상품을 number 순으로 하나씩 consumer에 전달 (처리한 엔티티는 바로 detach)
+    void streamProducts(Consumer<Product> consumer);
+
+    //전체 덤프용 - forward-only 커서로 큰 fetch size 단위로 읽으며 하나씩 전달 (처리한 엔티티는 바로 detach)
+    void exportProducts(Consumer<Product> consumer);
+
+    //이름 prefix, 가격 범위, 재고 여부로 검색 (null인 조건은 제외) - 엔티티가 아닌 DTO로 바로 조회
+    List<ProductResponseDto> searchProducts(String namePrefix, Integer minPrice, Integer maxPrice, boolean inStock, int size);
+
     //업데이트 로직에서 검증 실패나 다른 처리 문제 발생 가능 -> 체크 예외
     Product updateProduct(Long number, String name);
 
     //삭제하려는 엔티티가 존재하지 않거나 DB오류 발생 가능하므로 체크 예외 선언
+    //삭제와 같은 트랜잭션에서 tombstone(삭제 기록)을 남김 - 벌크 삭제도 동일
     void deleteProduct(Long number);
 
+    //벌크 삭제 / 이름 변경 - 엔티티를 읽지 않는 set 기반 쿼리, 반환값은 변경된 행 수
+    int deleteProducts(List<Long> numbers);
+
+    int updateProductNames(List<Long> numbers, String name);
+
+    //이름 prefix 조건 벌크 연산 대상 번호 - number가 after보다 큰 것을 number 순으로 size개 (LIKE 특수문자는 일반 문자로)
+    //조건 벌크 연산을 한 문장으로 실행하지 않고 이 번호 목록 단위로 나눠서 짧은 트랜잭션으로 처리
+    List<Long> selectProductNumbersByNamePrefix(String namePrefix, Long after, int size);
+
     Product saveAndFlushProduct(Product product);
+
+    //재고 차감 - 재고 부족이면 false, 상품이 없으면 NoSuchElementException
+    boolean reserveStock(Long number, int quantity);
 }
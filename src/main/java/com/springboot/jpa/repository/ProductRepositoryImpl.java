@@ -1,19 +1,59 @@
 package com.springboot.jpa.repository;
 
+import com.springboot.jpa.data.dto.ProductResponseDto;
 import com.springboot.jpa.data.entity.Product;
+import com.springboot.jpa.data.entity.ProductTombstone;
 import com.springboot.jpa.data.repository.ProductJpaRepository;
+import com.springboot.jpa.data.repository.ProductTombstoneRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
 
+import static com.springboot.jpa.config.CacheConfiguration.PRODUCT_CACHE;
+
+//메서드별 소요 시간 (product.repository{class, method, exception}) - 캐시 advice가 바깥이므로 캐시 hit는 제외
+@Timed("product.repository")
 @Component
 @RequiredArgsConstructor
 public class ProductRepositoryImpl implements ProductRepository {
 
+    //flush/clear 단위 (hibernate.jdbc.batch_size, 시퀀스 allocationSize와 동일하게 맞춤)
+    private static final int BATCH_SIZE = Product.ID_ALLOCATION_SIZE;
+
+    //IN 목록 하나에 넣는 최대 개수 (드라이버/DB 파라미터 수 제한 - 예) Oracle 1000개, MySQL prepared statement 65535개)
+    static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
+    //전체 덤프 시 한 번에 가져오는 행 수 (왕복 횟수 vs 드라이버 버퍼 메모리)
+    private static final int EXPORT_FETCH_SIZE = 2000;
+
+    //LIKE 이스케이프 문자 (escapeLike)
+    private static final char LIKE_ESCAPE = '\\';
+
     private final ProductJpaRepository productJpaRepository;
+    private final ProductTombstoneRepository productTombstoneRepository;
+    private final EntityManager entityManager;
 
     @Override
     public Product insertProduct(Product product) {
@@ -21,6 +61,23 @@ public class ProductRepositoryImpl implements ProductRepository {
         return savedProduct;
     }
 
+    //persist만 모아두고 BATCH_SIZE마다 flush -> hibernate.jdbc.batch_size + order_inserts 설정으로 하나의 배치로 전송됨
+    //clear로 영속성 컨텍스트를 비워서 수십만 건을 넣어도 1차 캐시가 계속 커지지 않게 함
+    @Transactional
+    @Override
+    public List<Product> insertProducts(List<Product> products) {
+        for (int i = 0; i < products.size(); i++) {
+            entityManager.persist(products.get(i));
+            if ((i + 1) % BATCH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return products;
+    }
+
     @Override
     public Product selectProduct(Long number) {
         Optional<Product> selectedProduct = productJpaRepository.findById(number);
@@ -30,6 +87,120 @@ public class ProductRepositoryImpl implements ProductRepository {
         } else throw new NoSuchElementException();
     }
 
+    //조회 결과(불변 DTO)를 캐시 (없는 상품은 예외가 발생하므로 캐시되지 않음)
+    //readOnly : Hibernate 세션을 읽기 전용 + FlushMode.MANUAL로 설정 -> 조회 전 flush, 더티 체킹 없음
+    @Cacheable(cacheNames = PRODUCT_CACHE, key = "#number")
+    @Transactional(readOnly = true)
+    @Override
+    public ProductResponseDto selectProductResponse(Long number) {
+        return productJpaRepository.findResponseByNumber(number).orElseThrow(NoSuchElementException::new);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Long selectProductVersion(Long number) {
+        return productJpaRepository.findVersionByNumber(number).orElseThrow(NoSuchElementException::new);
+    }
+
+    @Override
+    public List<Product> selectProductsAfter(Long after, int size) {
+        return productJpaRepository.findByNumberGreaterThanOrderByNumberAsc(after, Limit.of(size));
+    }
+
+    @Override
+    public List<Product> selectProductsUpdatedAfter(LocalDateTime updatedAt, Long number, int size) {
+        return productJpaRepository.findUpdatedAfter(updatedAt, number, Limit.of(size));
+    }
+
+    @Override
+    public List<Product> selectProductsUpdatedBetween(LocalDateTime updatedAt, Long number, LocalDateTime until, int size) {
+        return productJpaRepository.findUpdatedBetween(updatedAt, number, until, Limit.of(size));
+    }
+
+    @Override
+    public List<ProductTombstone> selectTombstonesBetween(LocalDateTime deletedAt, Long number, LocalDateTime until, int size) {
+        return productTombstoneRepository.findDeletedBetween(deletedAt, number, until, Limit.of(size));
+    }
+
+    @Transactional
+    @Override
+    public int deleteTombstonesBefore(LocalDateTime before) {
+        return productTombstoneRepository.deleteByDeletedAtBefore(before);
+    }
+
+    //스트림은 트랜잭션(커넥션)이 열려있는 동안만 읽을 수 있음
+    //처리가 끝난 엔티티를 detach해서 영속성 컨텍스트에 쌓이지 않게 함 -> 결과 크기와 상관없이 메모리 일정
+    @Transactional(readOnly = true)
+    @Override
+    public void streamProducts(Consumer<Product> consumer) {
+        try (Stream<Product> products = productJpaRepository.streamAllOrderByNumber()) {
+            products.forEach(product -> {
+                consumer.accept(product);
+                entityManager.detach(product);
+            });
+        }
+    }
+
+    //streamProducts와 같지만 Hibernate 커서를 직접 사용
+    //  - ScrollMode.FORWARD_ONLY : 앞으로만 읽는 커서 (드라이버가 결과 전체를 들고 있지 않아도 됨)
+    //  - 읽기 전용(스냅샷 없음) + 2차 캐시 사용 안 함(CacheMode.IGNORE)
+    @Transactional(readOnly = true)
+    @Override
+    public void exportProducts(Consumer<Product> consumer) {
+        Session session = entityManager.unwrap(Session.class);
+        try (ScrollableResults<Product> products = session
+                .createSelectionQuery("select p from Product p order by p.number", Product.class)
+                .setReadOnly(true)
+                .setFetchSize(EXPORT_FETCH_SIZE)
+                .setCacheMode(CacheMode.IGNORE)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            while (products.next()) {
+                Product product = products.get();
+                consumer.accept(product);
+                session.detach(product);
+            }
+        }
+    }
+
+    //주어진 조건만 where절에 넣어서(Criteria) 인덱스를 탈 수 있는 쿼리 생성
+    //select new ProductResponseDto(...) : 엔티티를 영속성 컨텍스트에 올리지 않고 필요한 컬럼만 조회
+    @Transactional(readOnly = true)
+    @Override
+    public List<ProductResponseDto> searchProducts(String namePrefix, Integer minPrice, Integer maxPrice,
+                                                   boolean inStock, int size) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductResponseDto> query = cb.createQuery(ProductResponseDto.class);
+        Root<Product> product = query.from(Product.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (namePrefix != null && !namePrefix.isBlank()) {
+            //앞부분 일치(prefix%)만 허용해야 name 인덱스 사용 가능
+            predicates.add(namePrefixPredicate(cb, product, namePrefix));
+        }
+        if (minPrice != null) {
+            predicates.add(cb.greaterThanOrEqualTo(product.<Integer>get("price"), minPrice));
+        }
+        if (maxPrice != null) {
+            predicates.add(cb.lessThanOrEqualTo(product.<Integer>get("price"), maxPrice));
+        }
+        if (inStock) {
+            predicates.add(cb.greaterThan(product.<Integer>get("stock"), 0));
+        }
+
+        query.select(cb.construct(ProductResponseDto.class,
+                        product.get("number"), product.get("name"), product.get("price"), product.get("stock")))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(product.get("number")));
+
+        return entityManager.createQuery(query).setMaxResults(size).getResultList();
+    }
+
+    //검색어에 들어있는 LIKE 특수문자(%, _)는 일반 문자로 취급
+    private String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    @CacheEvict(cacheNames = PRODUCT_CACHE, key = "#number")
     @Transactional
     @Override
     public Product updateProduct(Long number, String name) {
@@ -42,14 +213,84 @@ public class ProductRepositoryImpl implements ProductRepository {
         return product;
     }
 
+    //삭제와 tombstone 기록을 한 트랜잭션으로 (삭제만 커밋되고 기록이 빠지면 변경 피드 소비자가 삭제를 놓침)
+    //번호를 직접 지정하므로 merge(save) 대신 persist - 존재 확인용 select 없음
+    @CacheEvict(cacheNames = PRODUCT_CACHE, key = "#number")
+    @Transactional
     @Override
     public void deleteProduct(Long number) {
         Product selectedProduct = productJpaRepository.findById(number).orElseThrow(NoSuchElementException::new);
         productJpaRepository.delete(selectedProduct);
+        entityManager.persist(ProductTombstone.create(number, LocalDateTime.now()));
+    }
+
+    //벌크 연산은 어떤 행이 바뀌었는지 키별로 지정할 수 없으므로 캐시 전체 제거 (캐시 advice가 바깥이라 커밋 후에 제거됨)
+    //목록 전체가 하나의 트랜잭션 - 중간 청크에서 실패하면 전부 롤백
+    @CacheEvict(cacheNames = PRODUCT_CACHE, allEntries = true)
+    @Transactional
+    @Override
+    public int deleteProducts(List<Long> numbers) {
+        LocalDateTime now = LocalDateTime.now();
+        return inChunks(numbers, chunk -> {
+            productTombstoneRepository.insertByNumberIn(chunk, now);
+            return productJpaRepository.deleteByNumberIn(chunk);
+        });
+    }
+
+    @CacheEvict(cacheNames = PRODUCT_CACHE, allEntries = true)
+    @Transactional
+    @Override
+    public int updateProductNames(List<Long> numbers, String name) {
+        LocalDateTime now = LocalDateTime.now();
+        return inChunks(numbers, chunk -> productJpaRepository.updateNameByNumberIn(chunk, name, now));
+    }
+
+    //이름 prefix 벌크 연산 대상 - 번호만 keyset(number > after)으로 size개씩 조회
+    @Transactional(readOnly = true)
+    @Override
+    public List<Long> selectProductNumbersByNamePrefix(String namePrefix, Long after, int size) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Product> product = query.from(Product.class);
+        query.select(product.<Long>get("number"))
+                .where(namePrefixPredicate(cb, product, namePrefix), cb.greaterThan(product.<Long>get("number"), after))
+                .orderBy(cb.asc(product.get("number")));
+        return entityManager.createQuery(query).setMaxResults(size).getResultList();
     }
 
+    //IN_CLAUSE_CHUNK_SIZE씩 나눠서 실행하고 변경된 행 수를 합산
+    private int inChunks(List<Long> numbers, ToIntFunction<List<Long>> statement) {
+        int affectedCount = 0;
+        for (int from = 0; from < numbers.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            affectedCount += statement.applyAsInt(
+                    numbers.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, numbers.size())));
+        }
+        return affectedCount;
+    }
+
+    private Predicate namePrefixPredicate(CriteriaBuilder cb, Root<Product> product, String namePrefix) {
+        return cb.like(product.<String>get("name"), escapeLike(namePrefix) + "%", LIKE_ESCAPE);
+    }
+
+    //메서드 실행 후에 평가되므로 신규 저장이면 persist로 채번된 number, 기존 상품이면 그 number로 제거
+    @CacheEvict(cacheNames = PRODUCT_CACHE, key = "#product.number")
     @Override
     public Product saveAndFlushProduct(Product product) {
         return productJpaRepository.saveAndFlush(product);
     }
+
+    //조건부 UPDATE 한 번으로 차감 (행 락은 UPDATE 순간에만 잡히고 조회-수정 사이 경합 없음)
+    @CacheEvict(cacheNames = PRODUCT_CACHE, key = "#number")
+    @Transactional
+    @Override
+    public boolean reserveStock(Long number, int quantity) {
+        int updatedCount = productJpaRepository.decreaseStock(number, quantity, LocalDateTime.now());
+        if (updatedCount == 1) {
+            return true;
+        }
+        if (!productJpaRepository.existsById(number)) {
+            throw new NoSuchElementException();
+        }
+        return false;
+    }
 }
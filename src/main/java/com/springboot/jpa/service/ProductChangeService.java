@@ -0,0 +1,30 @@
+package com.springboot.jpa.service;
+
+import com.springboot.jpa.data.dto.ProductChangePageDto;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+public interface ProductChangeService {
+
+    //since(이전 응답의 nextCursor) 이후 변경/삭제된 상품을 size개까지 조회 - since가 없으면 처음부터
+    ProductChangePageDto getChanges(String since, int size);
+
+    //long-poll : 변경이 있으면 바로, 없으면 생기거나 wait가 지날 때(빈 페이지) listener를 한 번 호출
+    //기다리는 동안 cursor가 만료되면 listener 대신 expiredListener 호출, 반환값 : 기다리는 도중 취소 (요청 종료 시)
+    Runnable awaitChanges(String since, int size, Duration wait, Consumer<ProductChangePageDto> listener,
+                          Consumer<CursorExpiredException> expiredListener);
+
+    //구독 : 변경이 생길 때마다, 변경이 없으면 heartbeat-interval마다 빈 페이지로 listener 호출
+    //listener가 예외를 던지거나 cursor가 만료되면(expiredListener 호출) 구독 종료, 반환값 : 구독 취소
+    Runnable subscribeChanges(String since, int size, Consumer<ProductChangePageDto> listener,
+                              Consumer<CursorExpiredException> expiredListener);
+
+    //since 위치와 동기화 시작 시각이 모두 tombstone 보관 기간보다 오래됨
+    //그 사이 삭제 기록이 지워졌을 수 있으므로 since 없이 처음부터 다시 동기화
+    class CursorExpiredException extends RuntimeException {
+        public CursorExpiredException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,369 @@
+package com.springboot.jpa.service;
+
+import com.springboot.jpa.data.dto.ProductChangeDto;
+import com.springboot.jpa.data.dto.ProductChangePageDto;
+import com.springboot.jpa.data.entity.Product;
+import com.springboot.jpa.data.entity.ProductTombstone;
+import com.springboot.jpa.repository.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * 상품 변경 피드 - (changedAt, number) watermark 이후 변경(updatedAt)과 삭제(tombstone)를 순서대로 응답
+ *  - now - lag까지만 응답 : 수정 시각은 커밋 전에 정해지므로 커밋이 늦은 트랜잭션이 이미 지나간 위치에 끼어들지 않게 함
+ *  - 다 읽었으면 nextCursor를 확인한 시점(now - lag)까지 진행 -> 변경이 없어도 cursor가 보관 기간 안에 머무름
+ *  - cursor에 동기화 시작 시각(syncedAt)도 담음 -> 오래전에 수정된 상품을 페이지로 읽는 중에는 만료되지 않음
+ *    (클라이언트가 받은 상품의 삭제 기록은 syncedAt 이후에 생기므로 max(changedAt, syncedAt)이 보관 기간 안이면 충분)
+ *  - long-poll, 구독은 스레드 하나(product-changes)가 poll-interval-ms마다 확인 (요청 스레드, 커넥션을 잡고 기다리지 않음)
+ *    구독별 조회 + 전달은 delivery-threads개 스레드(product-changes-delivery-)에서 실행, 구독당 한 번에 하나씩
+ *  - 전달이 send-timeout 넘게 끝나지 않는 구독(받지 않는 클라이언트)은 해제 -> 다른 구독의 전달을 계속 막지 않음
+ */
+@Service
+public class ProductChangeServiceImpl implements ProductChangeService {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(ProductChangeServiceImpl.class);
+
+    //한 페이지 최대 크기
+    private static final int MAX_PAGE_SIZE = 1000;
+    //구독 하나가 한 번 전달할 때 받는 최대 페이지 수 (처음부터 동기화하는 구독이 delivery 스레드를 오래 잡지 않도록)
+    private static final int MAX_PAGES_PER_POLL = 10;
+    private static final long PURGE_INTERVAL_MINUTES = 60;
+    private static final LocalDateTime INITIAL_WATERMARK = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final ProductRepository productRepository;
+    private final long pollIntervalMillis;
+    private final Duration lag;
+    private final Duration heartbeatInterval;
+    private final Duration maxWait;
+    private final int maxSubscribers;
+    private final Duration tombstoneRetention;
+    private final int deliveryThreads;
+    private final long sendTimeoutNanos;
+    private final Counter stalledCounter;
+
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+    private ScheduledExecutorService scheduler;
+    //start 전(테스트에서 poll 직접 호출)에는 호출한 스레드에서 바로 실행
+    private Executor deliveryExecutor = Runnable::run;
+
+    public ProductChangeServiceImpl(ProductRepository productRepository,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${springboot.product.changes.poll-interval-ms:1000}") long pollIntervalMillis,
+                                    @Value("${springboot.product.changes.lag:5s}") Duration lag,
+                                    @Value("${springboot.product.changes.heartbeat-interval:15s}") Duration heartbeatInterval,
+                                    @Value("${springboot.product.changes.max-wait:30s}") Duration maxWait,
+                                    @Value("${springboot.product.changes.max-subscribers:100}") int maxSubscribers,
+                                    @Value("${springboot.product.changes.tombstone-retention:7d}") Duration tombstoneRetention,
+                                    @Value("${springboot.product.changes.delivery-threads:4}") int deliveryThreads,
+                                    @Value("${springboot.product.changes.send-timeout:10s}") Duration sendTimeout) {
+        this.productRepository = productRepository;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.lag = lag;
+        this.heartbeatInterval = heartbeatInterval;
+        this.maxWait = maxWait;
+        this.maxSubscribers = maxSubscribers;
+        this.tombstoneRetention = tombstoneRetention;
+        this.deliveryThreads = deliveryThreads;
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+
+        Gauge.builder("product.changes.subscribers", subscriptions, Set::size)
+                .description("변경 피드 long-poll 대기 + 구독 수")
+                .register(meterRegistry);
+        this.stalledCounter = Counter.builder("product.changes.stalled")
+                .description("전달이 send-timeout 안에 끝나지 않아 해제된 구독 수")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        //구독마다 진행 중인 전달은 하나뿐이므로 대기열은 구독 상한이면 충분
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(deliveryThreads);
+        executor.setMaxPoolSize(deliveryThreads);
+        executor.setQueueCapacity(maxSubscribers);
+        executor.setThreadNamePrefix("product-changes-delivery-");
+        executor.setDaemon(true);
+        executor.initialize();
+        deliveryExecutor = executor;
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "product-changes");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> runQuietly(this::poll),
+                pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(() -> runQuietly(this::purgeTombstones),
+                0, PURGE_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        if (deliveryExecutor instanceof ThreadPoolTaskExecutor executor) {
+            executor.shutdown();
+        }
+        subscriptions.clear();
+    }
+
+    @Override
+    public ProductChangePageDto getChanges(String since, int size) {
+        //DB 컬럼 정밀도(마이크로초)에 맞춤
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        Watermark from = decodeCursor(since, now);
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        LocalDateTime until = now.minus(lag);
+        if (!until.isAfter(from.changedAt())) {
+            return ProductChangePageDto.of(List.of(), encodeCursor(from), false);
+        }
+
+        List<Product> products = productRepository.selectProductsUpdatedBetween(
+                from.changedAt(), from.number(), until, pageSize);
+        List<ProductTombstone> tombstones = productRepository.selectTombstonesBetween(
+                from.changedAt(), from.number(), until, pageSize);
+
+        //두 목록 모두 (시각, 번호) 순 -> 합쳐서 pageSize개까지 (상품 번호는 다시 쓰이지 않으므로 같은 위치가 양쪽에 있을 수 없음)
+        List<ProductChangeDto> changes = new ArrayList<>(pageSize);
+        int productIndex = 0;
+        int tombstoneIndex = 0;
+        while (changes.size() < pageSize && (productIndex < products.size() || tombstoneIndex < tombstones.size())) {
+            boolean takeProduct = tombstoneIndex >= tombstones.size()
+                    || (productIndex < products.size() && isBefore(products.get(productIndex), tombstones.get(tombstoneIndex)));
+            changes.add(takeProduct
+                    ? ProductChangeDto.from(products.get(productIndex++))
+                    : ProductChangeDto.from(tombstones.get(tombstoneIndex++)));
+        }
+
+        //어느 한쪽이라도 꽉 차게 읽었으면 그 뒤에 더 있을 수 있음
+        boolean hasMore = products.size() == pageSize || tombstones.size() == pageSize
+                || productIndex < products.size() || tombstoneIndex < tombstones.size();
+        Watermark next;
+        if (hasMore) {
+            ProductChangeDto last = changes.get(changes.size() - 1);
+            next = new Watermark(last.getChangedAt(), last.getNumber(), from.syncedAt());
+        } else {
+            //until까지 다 읽음 -> 같은 시각의 나머지 번호도 없으므로 until 전체를 지나간 위치로
+            next = new Watermark(until, Long.MAX_VALUE, until);
+        }
+        return ProductChangePageDto.of(changes, encodeCursor(next), hasMore);
+    }
+
+    @Override
+    public Runnable awaitChanges(String since, int size, Duration wait, Consumer<ProductChangePageDto> listener,
+                                 Consumer<CursorExpiredException> expiredListener) {
+        ProductChangePageDto page = getChanges(since, size);
+        if (!page.getChanges().isEmpty() || wait.isZero() || wait.isNegative()) {
+            listener.accept(page);
+            return () -> { };
+        }
+        Duration timeout = wait.compareTo(maxWait) > 0 ? maxWait : wait;
+        return register(new Subscription(page.getNextCursor(), size, timeout, true, listener, expiredListener));
+    }
+
+    @Override
+    public Runnable subscribeChanges(String since, int size, Consumer<ProductChangePageDto> listener,
+                                     Consumer<CursorExpiredException> expiredListener) {
+        //잘못되거나 만료된 cursor는 요청 스레드에서 바로 실패
+        decodeCursor(since, LocalDateTime.now());
+        return register(new Subscription(since, size, heartbeatInterval, false, listener, expiredListener));
+    }
+
+    private Runnable register(Subscription subscription) {
+        //크기 확인과 추가 사이에 조금 넘칠 수 있음 (상한은 대략적인 보호용)
+        if (subscriptions.size() >= maxSubscribers) {
+            throw new TaskRejectedException("변경 피드 구독 수 초과 : " + maxSubscribers);
+        }
+        subscriptions.add(subscription);
+        return () -> subscriptions.remove(subscription);
+    }
+
+    //스케줄러 스레드에서 호출 - 조회, 전달은 하지 않고 구독마다 delivery 스레드에 맡기기만 함
+    void poll() {
+        long now = System.nanoTime();
+        for (Subscription subscription : subscriptions) {
+            if (subscription.inFlight.get()) {
+                //이전 전달이 아직 진행 중 - send-timeout이 지났으면 받지 않는 클라이언트로 보고 목록에서만 제거
+                //(emitter는 전달 중인 스레드가 잡고 있으므로 여기서 complete 등을 호출하지 않음, 연결은 stream-timeout에 정리)
+                if (now - subscription.dispatchedNanos >= sendTimeoutNanos && subscriptions.remove(subscription)) {
+                    stalledCounter.increment();
+                    LOGGER.warn("[poll] 변경 피드 전달이 {}ms 넘게 끝나지 않아 구독 해제",
+                            TimeUnit.NANOSECONDS.toMillis(sendTimeoutNanos));
+                }
+                continue;
+            }
+            subscription.inFlight.set(true);
+            subscription.dispatchedNanos = now;
+            try {
+                deliveryExecutor.execute(() -> {
+                    try {
+                        pollSubscription(subscription);
+                    } finally {
+                        subscription.inFlight.set(false);
+                    }
+                });
+            } catch (TaskRejectedException e) { //종료 중 - 다음 주기에 다시
+                subscription.inFlight.set(false);
+                LOGGER.debug("[poll] 변경 피드 전달 작업 거부", e);
+            }
+        }
+    }
+
+    //delivery 스레드에서 호출 - 구독 하나의 변경 조회 + 전달 (구독당 동시에 하나만 실행)
+    private void pollSubscription(Subscription subscription) {
+        try {
+            for (int pages = 0; pages < MAX_PAGES_PER_POLL && subscriptions.contains(subscription); pages++) {
+                ProductChangePageDto page = getChanges(subscription.cursor, subscription.size);
+                subscription.cursor = page.getNextCursor();
+                if (page.getChanges().isEmpty()) {
+                    break;
+                }
+                deliver(subscription, page);
+                if (!page.isHasMore()) {
+                    break;
+                }
+            }
+        } catch (CursorExpiredException e) { //DB 오류가 보관 기간 넘게 이어짐 - 같은 cursor로는 계속 실패하므로 구독 종료
+            subscriptions.remove(subscription);
+            notifyExpired(subscription, e);
+            return;
+        } catch (RuntimeException e) { //DB 오류 - 다음 주기에 같은 cursor로 다시 조회
+            LOGGER.warn("[poll] 변경 피드 조회 실패, 다음 주기에 재시도", e);
+        }
+        //변경 없이 idle 시간이 지남 -> long-poll은 빈 페이지로 응답, 구독은 heartbeat
+        if (subscriptions.contains(subscription)
+                && System.nanoTime() - subscription.lastDeliveredNanos >= subscription.idleNanos) {
+            deliver(subscription, ProductChangePageDto.of(List.of(), subscription.cursor, false));
+        }
+    }
+
+    private void deliver(Subscription subscription, ProductChangePageDto page) {
+        subscription.lastDeliveredNanos = System.nanoTime();
+        if (subscription.oneShot) {
+            subscriptions.remove(subscription);
+        }
+        try {
+            subscription.listener.accept(page);
+        } catch (RuntimeException e) { //연결 종료 등 - 구독 해제
+            subscriptions.remove(subscription);
+            LOGGER.debug("[deliver] 변경 피드 전달 실패, 구독 해제", e);
+        }
+    }
+
+    private void notifyExpired(Subscription subscription, CursorExpiredException e) {
+        try {
+            subscription.expiredListener.accept(e);
+        } catch (RuntimeException listenerException) {
+            LOGGER.debug("[notifyExpired] 변경 피드 만료 전달 실패", listenerException);
+        }
+    }
+
+    //보관 기간이 지난 삭제 기록 제거 - 그보다 오래된 cursor는 CursorExpiredException
+    void purgeTombstones() {
+        int purgedCount = productRepository.deleteTombstonesBefore(LocalDateTime.now().minus(tombstoneRetention));
+        if (purgedCount > 0) {
+            LOGGER.info("[purgeTombstones] 삭제 기록 {}건 제거", purgedCount);
+        }
+    }
+
+    //스케줄러용 - 예외가 나가면 scheduleWithFixedDelay 반복이 멈춤
+    private void runQuietly(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            LOGGER.error("[productChanges] 변경 피드 작업 실패, 다음 주기에 재시도", e);
+        }
+    }
+
+    private static boolean isBefore(Product product, ProductTombstone tombstone) {
+        int compared = product.getUpdatedAt().compareTo(tombstone.getDeletedAt());
+        return compared < 0 || (compared == 0 && product.getNumber() < tombstone.getNumber());
+    }
+
+    //cursor는 클라이언트가 해석하지 않는 값(opaque) - 내부적으로는 "changedAt,number,syncedAt"
+    private String encodeCursor(Watermark watermark) {
+        String value = watermark.changedAt() + "," + watermark.number() + "," + watermark.syncedAt();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Watermark decodeCursor(String cursor, LocalDateTime now) {
+        if (cursor == null || cursor.isBlank()) {
+            //처음부터 동기화 - 지금 시작
+            return new Watermark(INITIAL_WATERMARK, 0L, now);
+        }
+        Watermark watermark;
+        try {
+            String[] values = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(",", -1);
+            if (values.length != 2 && values.length != 3) {
+                throw new IllegalArgumentException("cursor 항목 수 : " + values.length);
+            }
+            LocalDateTime changedAt = LocalDateTime.parse(values[0]);
+            //syncedAt이 없는 이전 형식은 changedAt 기준
+            watermark = new Watermark(changedAt, Long.valueOf(values[1]),
+                    values.length == 3 ? LocalDateTime.parse(values[2]) : changedAt);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("잘못된 cursor : " + cursor, e);
+        }
+        LocalDateTime syncedAt = watermark.changedAt().isAfter(watermark.syncedAt()) ? watermark.changedAt() : watermark.syncedAt();
+        if (syncedAt.isBefore(now.minus(tombstoneRetention))) {
+            throw new CursorExpiredException("cursor가 tombstone 보관 기간(" + tombstoneRetention + ")보다 오래되었습니다. 처음부터 다시 동기화하세요.");
+        }
+        return watermark;
+    }
+
+    //syncedAt : 이 cursor로 이어지는 동기화를 시작한 시각 (다 읽을 때마다 until로 갱신)
+    private record Watermark(LocalDateTime changedAt, Long number, LocalDateTime syncedAt) {
+    }
+
+    //long-poll 대기(oneShot) 또는 구독 - 전달 스레드가 주기마다 바뀔 수 있으므로 변경되는 필드는 volatile
+    private static final class Subscription {
+        private volatile String cursor;
+        private final int size;
+        private final long idleNanos;
+        private final boolean oneShot;
+        private final Consumer<ProductChangePageDto> listener;
+        private final Consumer<CursorExpiredException> expiredListener;
+        private volatile long lastDeliveredNanos = System.nanoTime();
+        //전달 진행 중 여부, 맡긴 시각 (poll에서 멈춘 전달 확인용)
+        private final AtomicBoolean inFlight = new AtomicBoolean();
+        private volatile long dispatchedNanos;
+
+        private Subscription(String cursor, int size, Duration idleTimeout, boolean oneShot,
+                             Consumer<ProductChangePageDto> listener, Consumer<CursorExpiredException> expiredListener) {
+            this.cursor = cursor;
+            this.size = size;
+            this.idleNanos = idleTimeout.toNanos();
+            this.oneShot = oneShot;
+            this.listener = listener;
+            this.expiredListener = expiredListener;
+        }
+    }
+}
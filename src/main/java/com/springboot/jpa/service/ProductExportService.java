@@ -0,0 +1,13 @@
+package com.springboot.jpa.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ProductExportService {
+
+    String CSV = "csv";
+    String NDJSON = "ndjson";
+
+    //전체 상품을 format(csv, ndjson)으로 outputStream에 씀 (outputStream은 닫지 않음) - 쓴 행 수 반환
+    long exportProducts(String format, OutputStream outputStream) throws IOException;
+}
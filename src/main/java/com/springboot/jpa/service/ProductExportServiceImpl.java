@@ -0,0 +1,120 @@
+package com.springboot.jpa.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springboot.jpa.data.entity.Product;
+import com.springboot.jpa.repository.ProductRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 상품 전체 덤프 (CSV, NDJSON)
+ *  - 커서로 읽은 엔티티를 바로 한 줄로 써서 내보내고 detach -> 테이블 크기와 상관없이 힙 사용량 일정
+ *  - 컬럼 : number, name, price, stock, updatedAt
+ */
+@Timed("product.export")
+@Service
+@RequiredArgsConstructor
+public class ProductExportServiceImpl implements ProductExportService {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(ProductExportServiceImpl.class);
+
+    private static final String CSV_HEADER = "number,name,price,stock,updatedAt";
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final ProductRepository productRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public long exportProducts(String format, OutputStream outputStream) throws IOException {
+        long rowCount;
+        if (CSV.equals(format)) {
+            rowCount = exportCsv(outputStream);
+        } else if (NDJSON.equals(format)) {
+            rowCount = exportNdjson(outputStream);
+        } else {
+            throw new IllegalArgumentException("지원하지 않는 형식 : " + format);
+        }
+        LOGGER.info("[exportProducts] format : {}, rows : {}", format, rowCount);
+        return rowCount;
+    }
+
+    private long exportNdjson(OutputStream outputStream) throws IOException {
+        long[] rowCount = {0};
+        //호출한 쪽(gzip 스트림 등)이 outputStream을 마무리하도록 닫지 않음
+        //최상위 값 사이 기본 구분자(공백) 대신 줄바꿈만 직접 씀
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .setRootValueSeparator(null)) {
+            productRepository.exportProducts(product -> {
+                try {
+                    generator.writeStartObject();
+                    generator.writeNumberField("number", product.getNumber());
+                    generator.writeStringField("name", product.getName());
+                    generator.writeNumberField("price", product.getPrice());
+                    generator.writeNumberField("stock", product.getStock());
+                    generator.writeStringField("updatedAt",
+                            product.getUpdatedAt() == null ? null : product.getUpdatedAt().toString());
+                    generator.writeEndObject();
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                rowCount[0]++;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return rowCount[0];
+    }
+
+    private long exportCsv(OutputStream outputStream) throws IOException {
+        long[] rowCount = {0};
+        //outputStream을 닫지 않도록 try-with-resources 대신 flush만
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        try {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+            productRepository.exportProducts(product -> {
+                try {
+                    writer.write(String.valueOf(product.getNumber()));
+                    writer.write(',');
+                    writer.write(escapeCsv(product.getName()));
+                    writer.write(',');
+                    writer.write(String.valueOf(product.getPrice()));
+                    writer.write(',');
+                    writer.write(String.valueOf(product.getStock()));
+                    writer.write(',');
+                    writer.write(product.getUpdatedAt() == null ? "" : product.getUpdatedAt().toString());
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                rowCount[0]++;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+        return rowCount[0];
+    }
+
+    //쉼표, 큰따옴표, 줄바꿈이 있으면 큰따옴표로 감싸고 큰따옴표는 두 번 (RFC 4180)
+    private String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,16 @@
+package com.springboot.jpa.service;
+
+import com.springboot.jpa.data.dto.ProductImportJobDto;
+
+import java.io.InputStream;
+
+public interface ProductImportService {
+
+    String CSV = "csv";
+    String NDJSON = "ndjson";
+
+    //jobId가 있으면 그 작업의 마지막 커밋 다음 줄부터 이어서 처리 (같은 파일을 다시 전달)
+    ProductImportJobDto importProducts(InputStream inputStream, String format, Long jobId);
+
+    ProductImportJobDto getImportJob(Long jobId);
+}
@@ -0,0 +1,289 @@
+package com.springboot.jpa.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.springboot.jpa.data.dto.ProductDto;
+import com.springboot.jpa.data.dto.ProductImportJobDto;
+import com.springboot.jpa.data.entity.Product;
+import com.springboot.jpa.data.entity.ProductImportJob;
+import com.springboot.jpa.data.repository.ProductImportJobRepository;
+import com.springboot.jpa.repository.ProductImportWriter;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.IntStream;
+
+/**
+ * 상품 파일(CSV, NDJSON) import
+ *  - 요청 본문을 줄 단위로 읽어서 chunk-size 줄씩 처리 (파일 전체를 메모리에 올리지 않음)
+ *  - 파싱/검증은 ForkJoinPool에서 병렬로, 그동안 요청 스레드는 다음 청크를 읽고 이전 청크를 저장 (최대 2청크만 메모리에)
+ *  - 저장은 청크마다 한 트랜잭션 (insertProducts의 배치 insert + flush/clear, 진행 상태 갱신)
+ *  - CSV : name,price,stock (첫 줄이 헤더면 건너뜀, 큰따옴표로 감싼 값 허용) / NDJSON : 한 줄에 ProductDto JSON 하나
+ */
+@Timed("product.import")
+@Service
+public class ProductImportServiceImpl implements ProductImportService {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(ProductImportServiceImpl.class);
+
+    private static final String CSV_HEADER = "name,price,stock";
+    //응답에 담는 거부 줄 메시지 최대 개수
+    private static final int MAX_ERRORS = 100;
+    private static final int MAX_NAME_LENGTH = 255;
+
+    private final ProductImportJobRepository productImportJobRepository;
+    private final ProductImportWriter productImportWriter;
+    private final ObjectReader productDtoReader;
+    private final int chunkSize;
+    private final ForkJoinPool parsePool;
+
+    public ProductImportServiceImpl(ProductImportJobRepository productImportJobRepository,
+                                    ProductImportWriter productImportWriter,
+                                    ObjectMapper objectMapper,
+                                    @Value("${springboot.product.import.chunk-size:1000}") int chunkSize,
+                                    @Value("${springboot.product.import.parallelism:0}") int parallelism) {
+        this.productImportJobRepository = productImportJobRepository;
+        this.productImportWriter = productImportWriter;
+        this.productDtoReader = objectMapper.readerFor(ProductDto.class);
+        this.chunkSize = chunkSize;
+        //0이면 코어 수만큼 (파싱은 CPU 작업)
+        this.parsePool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        parsePool.shutdown();
+    }
+
+    @Override
+    public ProductImportJobDto importProducts(InputStream inputStream, String format, Long jobId) {
+        if (!CSV.equals(format) && !NDJSON.equals(format)) {
+            throw new IllegalArgumentException("지원하지 않는 형식 : " + format);
+        }
+        ProductImportJob job = startJob(format, jobId);
+        if (ProductImportJob.COMPLETED.equals(job.getStatus())) {
+            return ProductImportJobDto.from(job);
+        }
+
+        List<String> errors = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            job = importLines(reader, job, errors);
+            job.complete();
+            job = productImportJobRepository.save(job);
+            ProductImportJobDto productImportJobDto = ProductImportJobDto.from(job, errors);
+            LOGGER.info("[importProducts] jobId : {}, imported : {}, rejected : {}, {} rows/s",
+                    job.getId(), job.getImportedCount(), job.getRejectedCount(), (long) productImportJobDto.getRowsPerSecond());
+            return productImportJobDto;
+        } catch (ConcurrencyFailureException e) {
+            //다른 요청이 같은 작업을 처리 중 - 상태는 그 요청이 갱신하므로 그대로 둠 (이번 청크는 롤백됨)
+            LOGGER.warn("[importProducts] 같은 작업을 처리 중인 요청이 있음, jobId : {}", job.getId());
+            return ProductImportJobDto.from(
+                    productImportJobRepository.findById(job.getId()).orElseThrow(NoSuchElementException::new), errors);
+        } catch (IOException | RuntimeException e) {
+            //커밋된 청크까지는 유지 -> 같은 jobId로 다시 요청하면 이어서 처리
+            LOGGER.warn("[importProducts] import 실패, jobId : {}", job.getId(), e);
+            return ProductImportJobDto.from(failJob(job.getId(), e), errors);
+        }
+    }
+
+    @Override
+    public ProductImportJobDto getImportJob(Long jobId) {
+        return ProductImportJobDto.from(productImportJobRepository.findById(jobId).orElseThrow(NoSuchElementException::new));
+    }
+
+    private ProductImportJob startJob(String format, Long jobId) {
+        if (jobId == null) {
+            return productImportJobRepository.save(ProductImportJob.create(format));
+        }
+        ProductImportJob job = productImportJobRepository.findById(jobId).orElseThrow(NoSuchElementException::new);
+        if (!job.getFormat().equals(format)) {
+            throw new IllegalArgumentException("작업 형식(" + job.getFormat() + ")과 파일 형식이 다릅니다.");
+        }
+        if (ProductImportJob.COMPLETED.equals(job.getStatus())) {
+            return job;
+        }
+        job.restart();
+        return productImportJobRepository.save(job);
+    }
+
+    private ProductImportJob failJob(Long jobId, Exception cause) {
+        ProductImportJob job = productImportJobRepository.findById(jobId).orElseThrow(NoSuchElementException::new);
+        job.fail(cause.toString());
+        return productImportJobRepository.save(job);
+    }
+
+    private ProductImportJob importLines(BufferedReader reader, ProductImportJob job, List<String> errors) throws IOException {
+        String format = job.getFormat();
+        //CSV 헤더는 데이터 줄 수(committedLines)에 포함하지 않음
+        String line = reader.readLine();
+        if (line != null && CSV.equals(format) && CSV_HEADER.equalsIgnoreCase(line.strip())) {
+            line = reader.readLine();
+        }
+        //이미 커밋된 줄은 읽고 버림
+        for (long skipped = 0; skipped < job.getCommittedLines(); skipped++) {
+            if (line == null) {
+                throw new IllegalArgumentException("파일이 이미 처리된 줄 수(" + job.getCommittedLines() + ")보다 짧습니다.");
+            }
+            line = reader.readLine();
+        }
+        long lineNumber = job.getCommittedLines();
+        List<String> pendingLines = new ArrayList<>();
+        if (line != null) {
+            pendingLines.add(line);
+        }
+
+        long chunkStart = System.nanoTime();
+        List<String> lines = readLines(reader, pendingLines);
+        ForkJoinTask<List<ParsedLine>> parsing = lines.isEmpty() ? null : parseAsync(lines, format, lineNumber);
+        while (parsing != null) {
+            lineNumber += lines.size();
+            //이전 청크를 파싱하는 동안 다음 청크 읽기
+            lines = readLines(reader, new ArrayList<>());
+            ForkJoinTask<List<ParsedLine>> nextParsing = lines.isEmpty() ? null : parseAsync(lines, format, lineNumber);
+
+            job = writeChunk(job, parsing.join(), errors, System.nanoTime() - chunkStart);
+            chunkStart = System.nanoTime();
+            parsing = nextParsing;
+        }
+        return job;
+    }
+
+    private List<String> readLines(BufferedReader reader, List<String> lines) throws IOException {
+        String line;
+        while (lines.size() < chunkSize && (line = reader.readLine()) != null) {
+            lines.add(line);
+        }
+        return lines;
+    }
+
+    private ProductImportJob writeChunk(ProductImportJob job, List<ParsedLine> parsedLines, List<String> errors,
+                                        long elapsedNanos) {
+        List<Product> products = new ArrayList<>(parsedLines.size());
+        int rejectedCount = 0;
+        for (ParsedLine parsedLine : parsedLines) {
+            if (parsedLine.product() != null) {
+                products.add(parsedLine.product());
+            } else if (parsedLine.error() != null) {
+                rejectedCount++;
+                if (errors.size() < MAX_ERRORS) {
+                    errors.add(parsedLine.error());
+                }
+            }
+        }
+        ProductImportJob committedJob = productImportWriter.writeChunk(job.getId(), job.getCommittedLines(), products,
+                parsedLines.size(), rejectedCount, elapsedNanos / 1_000_000);
+        LOGGER.debug("[importProducts] jobId : {}, committed lines : {}", committedJob.getId(), committedJob.getCommittedLines());
+        return committedJob;
+    }
+
+    //parsePool 안에서 실행되는 병렬 스트림은 공용 풀이 아닌 parsePool 스레드를 사용
+    private ForkJoinTask<List<ParsedLine>> parseAsync(List<String> lines, String format, long firstLineIndex) {
+        return parsePool.submit(() -> IntStream.range(0, lines.size())
+                .parallel()
+                .mapToObj(i -> parseLine(lines.get(i), format, firstLineIndex + i + 1))
+                .toList());
+    }
+
+    //빈 줄은 건너뜀 (product, error 모두 null)
+    private ParsedLine parseLine(String line, String format, long lineNumber) {
+        if (line.isBlank()) {
+            return new ParsedLine(null, null);
+        }
+        try {
+            ProductDto productDto = CSV.equals(format) ? parseCsv(line) : parseNdjson(line);
+            String error = validate(productDto);
+            if (error != null) {
+                return new ParsedLine(null, lineNumber + "번째 줄 : " + error);
+            }
+            return new ParsedLine(productDto.toEntity(), null);
+        } catch (JsonProcessingException e) {
+            return new ParsedLine(null, lineNumber + "번째 줄 : JSON 형식 오류");
+        } catch (IllegalArgumentException e) { //NumberFormatException도 IllegalArgumentException
+            return new ParsedLine(null, lineNumber + "번째 줄 : " + e.getMessage());
+        }
+    }
+
+    //null, 숫자, 배열 등 객체가 아닌 줄은 그 줄만 거부 (null이 validate까지 가면 작업 전체가 실패)
+    private ProductDto parseNdjson(String line) throws JsonProcessingException {
+        if (!line.strip().startsWith("{")) {
+            throw new IllegalArgumentException("JSON 객체가 아닙니다.");
+        }
+        ProductDto productDto = productDtoReader.readValue(line);
+        if (productDto == null) {
+            throw new IllegalArgumentException("JSON 객체가 아닙니다.");
+        }
+        return productDto;
+    }
+
+    private ProductDto parseCsv(String line) {
+        List<String> fields = splitCsv(line);
+        if (fields.size() != 3) {
+            throw new IllegalArgumentException("컬럼 수가 3개가 아닙니다.");
+        }
+        return new ProductDto(fields.get(0), Integer.parseInt(fields.get(1).strip()), Integer.parseInt(fields.get(2).strip()));
+    }
+
+    //RFC 4180 : 큰따옴표로 감싼 값 안의 쉼표 허용, "" 는 큰따옴표 하나 (줄바꿈이 들어간 값은 지원하지 않음)
+    private List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>(3);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("닫히지 않은 큰따옴표");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private String validate(ProductDto productDto) {
+        if (productDto.getName() == null || productDto.getName().isBlank()) {
+            return "name은 필수입니다.";
+        }
+        if (productDto.getName().length() > MAX_NAME_LENGTH) {
+            return "name은 " + MAX_NAME_LENGTH + "자 이하여야 합니다.";
+        }
+        if (productDto.getPrice() < 0 || productDto.getStock() < 0) {
+            return "price, stock은 0 이상이어야 합니다.";
+        }
+        return null;
+    }
+
+    private record ParsedLine(Product product, String error) {
+    }
+}
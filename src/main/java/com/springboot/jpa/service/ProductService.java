@@ -1,16 +1,38 @@
 package com.springboot.jpa.service;
 
 import com.springboot.jpa.data.dto.ProductDto;
+import com.springboot.jpa.data.dto.ProductPageResponseDto;
 import com.springboot.jpa.data.dto.ProductResponseDto;
+import com.springboot.jpa.data.dto.ProductSearchDto;
+import com.springboot.jpa.dto.ProductBatchDto;
+
+import java.util.List;
+import java.util.function.Consumer;
 
 public interface ProductService {
 
     ProductResponseDto getProduct(Long number);
 
+    ProductPageResponseDto getProducts(String cursor, int size);
+
+    void streamProducts(Consumer<ProductResponseDto> consumer);
+
+    List<ProductResponseDto> searchProducts(ProductSearchDto productSearchDto);
+
     ProductResponseDto saveProduct(ProductDto productDto);
 
+    List<ProductResponseDto> saveProducts(List<ProductDto> productDtos);
+
     ProductResponseDto changeProductName(Long number, String name)throws Exception;
 
     void deleteProduct(Long number) throws Exception;
 
+    //벌크 삭제 / 이름 변경 - 변경된 행 수 반환
+    int deleteProducts(ProductBatchDto productBatchDto);
+
+    int changeProductNames(ProductBatchDto productBatchDto);
+
+    //재고 차감 - 재고가 부족하면 false
+    boolean reserveStock(Long number, int quantity);
+
 }
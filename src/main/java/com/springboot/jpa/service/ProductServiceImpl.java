@@ -1,32 +1,122 @@
 package com.springboot.jpa.service;
 
 import com.springboot.jpa.data.dto.ProductDto;
+import com.springboot.jpa.data.dto.ProductPageResponseDto;
 import com.springboot.jpa.data.dto.ProductResponseDto;
+import com.springboot.jpa.data.dto.ProductSearchDto;
 import com.springboot.jpa.data.entity.Product;
+import com.springboot.jpa.dto.ProductBatchDto;
+import com.springboot.jpa.repository.ProductNameWriteBehind;
 import com.springboot.jpa.repository.ProductRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+//메서드별 소요 시간 (product.service{class, method, exception})
+@Timed("product.service")
 @Service
 @RequiredArgsConstructor
 public class ProductServiceImpl implements ProductService {
 
     private final Logger LOGGER  = LoggerFactory.getLogger(ProductServiceImpl.class);
 
+    //목록 조회 한 페이지 최대 크기
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    //벌크 연산 한 번에 지정할 수 있는 최대 상품 수
+    //updatedAt은 문장 실행 시각이라 커밋까지 걸린 시간만큼 과거 값 -> 트랜잭션이 변경 피드 lag보다 길면 피드에서 빠질 수 있음
+    //IN 목록 1000개씩 10번 이내로 제한해서 트랜잭션 시간을 짧게 유지
+    static final int MAX_BATCH_NUMBERS = 10_000;
+
+    //namePrefix 조건 벌크 연산 - 대상 번호를 이 개수(IN 목록 한 번)씩 읽어서 배치마다 별도 트랜잭션으로 처리
+    static final int NAME_PREFIX_BATCH_SIZE = 1000;
+
+    //동시 수정 충돌(낙관적 락 실패, 락 대기 시간 초과, 데드락) 시 최대 시도 횟수
+    private static final int MAX_ATTEMPTS = 3;
+
     //private final ProductRepository productRepository;
     //private final ProductJpaRepository productJpaRepository;
     private final ProductRepository productRepository;
+    private final ProductNameWriteBehind productNameWriteBehind;
+    private final ProductSnapshot productSnapshot;
+
+    //같은 상품 동시 조회는 DB 조회 한 번으로 (캐시 만료 직후 인기 상품에 요청이 몰릴 때)
+    private final SingleFlight<Long, ProductResponseDto> productResponseLoads = new SingleFlight<>();
 
     @Override
     public ProductResponseDto getProduct(Long number) {
-        LOGGER.info("[getProduct] input number {}", number);
+        LOGGER.debug("[getProduct] input number {}", number);
+        //전체 상품 스냅샷을 쓰면 메모리에서 바로 응답 (스냅샷에 없으면 아래 기존 조회)
+        ProductResponseDto snapshotProduct = productSnapshot.get(number);
+        if (snapshotProduct != null) {
+            return withPendingName(snapshotProduct);
+        }
         //Product product = productJpaRepository.findById(number).get();
-        Product product = productRepository.selectProduct(number);
-        LOGGER.info("[getProduct] product number : {}, name : {}", product.getName(), product.getName());
+        //엔티티를 거치지 않고 DTO로 바로 조회 (캐시 적용, 동시 조회는 하나로 합침)
+        //single-flight는 트랜잭션 바깥 - 기다리는 요청은 커넥션을 잡지 않음
+        ProductResponseDto productResponseDto = withPendingName(
+                productResponseLoads.execute(number, () -> productRepository.selectProductResponse(number)));
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("[getProduct] product number : {}, name : {}", productResponseDto.getNumber(), productResponseDto.getName());
+        }
 
-        return ProductResponseDto.from(product);
+        return productResponseDto;
+    }
+
+    @Override
+    public ProductPageResponseDto getProducts(String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<Product> products = productRepository.selectProductsAfter(decodeCursor(cursor), pageSize);
+
+        //꽉 찬 페이지면 마지막 number를 다음 cursor로 (덜 찼으면 마지막 페이지)
+        String nextCursor = products.size() == pageSize
+                ? encodeCursor(products.get(products.size() - 1).getNumber())
+                : null;
+        return ProductPageResponseDto.of(products.stream().map(ProductResponseDto::from).toList(), nextCursor);
+    }
+
+    @Override
+    public void streamProducts(Consumer<ProductResponseDto> consumer) {
+        productRepository.streamProducts(product -> consumer.accept(ProductResponseDto.from(product)));
+    }
+
+    @Override
+    public List<ProductResponseDto> searchProducts(ProductSearchDto productSearchDto) {
+        return productRepository.searchProducts(
+                productSearchDto.getName(),
+                productSearchDto.getMinPrice(),
+                productSearchDto.getMaxPrice(),
+                productSearchDto.isInStock(),
+                Math.max(1, Math.min(productSearchDto.getSize(), MAX_PAGE_SIZE)));
+    }
+
+    //cursor는 클라이언트가 해석하지 않는 값(opaque)으로 전달 - 내부적으로는 마지막 상품 number
+    private String encodeCursor(Long number) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(number).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) { //NumberFormatException도 IllegalArgumentException
+            throw new IllegalArgumentException("잘못된 cursor : " + cursor, e);
+        }
     }
 
     @Override
@@ -35,18 +125,39 @@ public class ProductServiceImpl implements ProductService {
         //Product savedProduct = productJpaRepository.save(product);
         Product savedProduct = productRepository.insertProduct(product);
 
-        LOGGER.info("[saveProduct] saveProduct : {}", savedProduct);
+        if (LOGGER.isDebugEnabled()) { //엔티티 toString은 DEBUG일 때만
+            LOGGER.debug("[saveProduct] saveProduct : {}", savedProduct);
+        }
 
         ProductResponseDto responseDto = ProductResponseDto.from(product);
         return responseDto;
     }
 
+    @Override
+    public List<ProductResponseDto> saveProducts(List<ProductDto> productDtos) {
+        List<Product> products = productDtos.stream().map(ProductDto::toEntity).toList();
+        List<Product> savedProducts = productRepository.insertProducts(products);
+
+        LOGGER.debug("[saveProducts] saved count : {}", savedProducts.size());
+
+        return savedProducts.stream().map(ProductResponseDto::from).toList();
+    }
+
     @Override
     public ProductResponseDto changeProductName(Long number, String name) throws Exception {
        // Product foundProduct = productJpaRepository.findById(number).get();
         //foundProduct.updateProduct(name);
         //Product changedProduct = productJpaRepository.save(foundProduct);
-        Product changedProduct = productRepository.updateProduct(number, name);
+        if (productNameWriteBehind.isEnabled()) {
+            //write-behind : 버퍼에 등록 (DB 반영은 나중에 배치로, 등록할 때 읽은 version이 그 사이 바뀌면 반영하지 않음)
+            ProductResponseDto currentProduct = productRepository.selectProductResponse(number);
+            productNameWriteBehind.offer(number, name, () -> productRepository.selectProductVersion(number));
+            return withPendingName(currentProduct);
+        }
+
+        //재고 차감 등으로 version이 바뀌어 낙관적 락이 실패하면 다시 조회해서 재시도
+        Product changedProduct = retryOnConflict(() -> productRepository.updateProduct(number, name));
+        productSnapshot.evict(number);
         ProductResponseDto responseDto = ProductResponseDto.from(changedProduct);
 
         return responseDto;
@@ -56,5 +167,126 @@ public class ProductServiceImpl implements ProductService {
     public void deleteProduct(Long number) throws Exception {
         //productJpaRepository.deleteById(number);
         productRepository.deleteProduct(number);
+        productNameWriteBehind.discard(number);
+        productSnapshot.evict(number);
+    }
+
+    //write-behind에 쌓인 이름 변경을 먼저 반영 -> 벌크 연산 뒤에 이전 이름이 덮어쓰지 않게 함
+    @Override
+    public int deleteProducts(ProductBatchDto productBatchDto) {
+        List<Long> numbers = batchNumbers(productBatchDto);
+        productNameWriteBehind.flush();
+        int deletedCount = numbers != null
+                ? deleteAndEvict(numbers)
+                : inNamePrefixBatches(productBatchDto.getNamePrefix(), this::deleteAndEvict);
+
+        LOGGER.debug("[deleteProducts] deleted count : {}", deletedCount);
+        return deletedCount;
+    }
+
+    @Override
+    public int changeProductNames(ProductBatchDto productBatchDto) {
+        if (productBatchDto.getName() == null || productBatchDto.getName().isBlank()) {
+            throw new IllegalArgumentException("name은 필수입니다.");
+        }
+        List<Long> numbers = batchNumbers(productBatchDto);
+        productNameWriteBehind.flush();
+        ToIntFunction<List<Long>> changeNames = batch -> updateNamesAndEvict(batch, productBatchDto.getName());
+        int updatedCount = numbers != null
+                ? changeNames.applyAsInt(numbers)
+                : inNamePrefixBatches(productBatchDto.getNamePrefix(), changeNames);
+
+        LOGGER.debug("[changeProductNames] updated count : {}", updatedCount);
+        return updatedCount;
+    }
+
+    private int deleteAndEvict(List<Long> numbers) {
+        int deletedCount = productRepository.deleteProducts(numbers);
+        numbers.forEach(productSnapshot::evict);
+        return deletedCount;
+    }
+
+    private int updateNamesAndEvict(List<Long> numbers, String name) {
+        int updatedCount = productRepository.updateProductNames(numbers, name);
+        numbers.forEach(productSnapshot::evict);
+        return updatedCount;
+    }
+
+    //namePrefix 조건 : 한 문장으로 실행하면 대상 행 수만큼 트랜잭션이 길어지고, updatedAt(문장 시작 시각)이
+    //변경 피드 lag보다 오래된 채로 커밋되어 피드에서 빠질 수 있음 -> 번호를 keyset으로 NAME_PREFIX_BATCH_SIZE개씩 읽어서
+    //배치마다 짧은 트랜잭션으로 처리 (중간에 실패하면 앞 배치까지는 반영된 상태, 같은 요청을 다시 보내면 나머지 처리)
+    private int inNamePrefixBatches(String namePrefix, ToIntFunction<List<Long>> statement) {
+        int affectedCount = 0;
+        long after = 0;
+        List<Long> numbers;
+        do {
+            numbers = productRepository.selectProductNumbersByNamePrefix(namePrefix, after, NAME_PREFIX_BATCH_SIZE);
+            if (numbers.isEmpty()) {
+                break;
+            }
+            affectedCount += statement.applyAsInt(numbers);
+            after = numbers.get(numbers.size() - 1);
+        } while (numbers.size() == NAME_PREFIX_BATCH_SIZE);
+        return affectedCount;
+    }
+
+    //numbers, namePrefix 중 하나만 허용 (조건 없이 전체가 지워지거나 바뀌지 않도록) - namePrefix 조건이면 null 반환
+    private List<Long> batchNumbers(ProductBatchDto productBatchDto) {
+        boolean hasNumbers = productBatchDto.getNumbers() != null && !productBatchDto.getNumbers().isEmpty();
+        boolean hasNamePrefix = productBatchDto.getNamePrefix() != null && !productBatchDto.getNamePrefix().isBlank();
+        if (hasNumbers == hasNamePrefix) {
+            throw new IllegalArgumentException("numbers, namePrefix 중 하나만 지정해야 합니다.");
+        }
+        if (!hasNumbers) {
+            return null;
+        }
+        //중복 번호는 한 번만 (IN 목록 크기와 파라미터 수를 줄임)
+        List<Long> numbers = productBatchDto.getNumbers().stream().filter(Objects::nonNull).distinct().toList();
+        if (numbers.size() > MAX_BATCH_NUMBERS) {
+            throw new IllegalArgumentException("numbers는 최대 " + MAX_BATCH_NUMBERS + "개까지 지정할 수 있습니다.");
+        }
+        return numbers;
+    }
+
+    //write-behind로 아직 DB에 반영되지 않은 이름 변경이 있으면 덮어써서 반환 (read-your-writes)
+    //단건 조회에만 적용 - 목록/검색/스트림은 flush 후에 새 이름 (ProductNameWriteBehind 참고)
+    //이름을 덮어쓰면 updatedAt이 응답 내용과 맞지 않으므로 비움 (검증값 없이 응답)
+    private ProductResponseDto withPendingName(ProductResponseDto productResponseDto) {
+        String pendingName = productNameWriteBehind.pendingName(productResponseDto.getNumber());
+        if (pendingName == null) {
+            return productResponseDto;
+        }
+        return ProductResponseDto.of(productResponseDto.getNumber(), pendingName,
+                productResponseDto.getPrice(), productResponseDto.getStock());
+    }
+
+    @Override
+    public boolean reserveStock(Long number, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("quantity는 1 이상이어야 합니다.");
+        }
+        boolean reserved = retryOnConflict(() -> productRepository.reserveStock(number, quantity));
+        productSnapshot.evict(number);
+        return reserved;
+    }
+
+    //충돌 시 짧게 대기(지터 포함) 후 MAX_ATTEMPTS까지만 재시도 -> 무한 재시도로 부하가 커지지 않게 함
+    private <T> T retryOnConflict(Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+                LOGGER.info("[retryOnConflict] 동시 수정 충돌, 재시도 {}/{}", attempt, MAX_ATTEMPTS);
+                try {
+                    Thread.sleep(ThreadLocalRandom.current().nextLong(5, 20) * attempt);
+                } catch (InterruptedException interruptedException) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
     }
 }
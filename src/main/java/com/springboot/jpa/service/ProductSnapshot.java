@@ -0,0 +1,242 @@
+package com.springboot.jpa.service;
+
+import com.springboot.jpa.data.dto.ProductResponseDto;
+import com.springboot.jpa.data.entity.Product;
+import com.springboot.jpa.data.entity.ProductTombstone;
+import com.springboot.jpa.repository.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 전체 상품 스냅샷 (springboot.product.snapshot.enabled=true 일 때 사용) - getProduct를 DB/캐시 대신 메모리에서 응답
+ *  - 시작 시 전체 적재(exportProducts 커서), 이후 refresh-interval-ms마다 updatedAt 이후 변경분만 반영
+ *    (updatedAt, number) keyset으로 읽고, 늦게 커밋된 트랜잭션을 놓치지 않도록 refresh-lag만큼 겹쳐서 다시 읽음
+ *  - 삭제는 이 서버의 삭제는 바로 제거, 다른 서버의 삭제는 tombstone(삭제 기록)을 같은 방식으로 읽어서 제거
+ *    full-refresh-interval-ms마다 전체 재적재 (놓친 변경 보정)
+ *  - 스냅샷에 없으면 null -> 호출한 쪽은 기존 조회(DB/캐시)로 처리 (새 상품, 적재 전)
+ */
+@Component
+public class ProductSnapshot {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(ProductSnapshot.class);
+
+    //변경분 조회 한 번에 읽는 행 수
+    private static final int REFRESH_BATCH_SIZE = 5000;
+    private static final LocalDateTime INITIAL_WATERMARK = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final ProductRepository productRepository;
+    private final boolean enabled;
+    private final long refreshIntervalMillis;
+    private final long fullRefreshIntervalMillis;
+    private final Duration refreshLag;
+
+    //전체 적재 전에는 null
+    private volatile ProductSnapshotStore store;
+    //여기까지의 변경/삭제는 반영됨 (스케줄러 스레드에서만 사용)
+    private LocalDateTime watermark = INITIAL_WATERMARK;
+    private LocalDateTime tombstoneWatermark = INITIAL_WATERMARK;
+
+    //전체 재적재 중에 제거된 번호 -> 새 스냅샷으로 바꾼 뒤 다시 제거
+    private volatile boolean rebuilding;
+    private final Set<Long> removedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Timer fullRefreshTimer;
+    private final Timer incrementalRefreshTimer;
+
+    private ScheduledExecutorService scheduler;
+
+    public ProductSnapshot(ProductRepository productRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${springboot.product.snapshot.enabled:false}") boolean enabled,
+                           @Value("${springboot.product.snapshot.refresh-interval-ms:1000}") long refreshIntervalMillis,
+                           @Value("${springboot.product.snapshot.full-refresh-interval-ms:600000}") long fullRefreshIntervalMillis,
+                           @Value("${springboot.product.snapshot.refresh-lag:5s}") Duration refreshLag) {
+        this.productRepository = productRepository;
+        this.enabled = enabled;
+        this.refreshIntervalMillis = refreshIntervalMillis;
+        this.fullRefreshIntervalMillis = fullRefreshIntervalMillis;
+        this.refreshLag = refreshLag;
+
+        Gauge.builder("product.snapshot.size", this, snapshot -> snapshot.store == null ? 0 : snapshot.store.size())
+                .description("스냅샷 상품 수")
+                .register(meterRegistry);
+        Gauge.builder("product.snapshot.offheap", this, snapshot -> snapshot.store == null ? 0 : snapshot.store.offHeapBytes())
+                .description("스냅샷 off-heap 레코드 버퍼 크기")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.hitCounter = Counter.builder("product.snapshot.lookups").tag("result", "hit").register(meterRegistry);
+        this.missCounter = Counter.builder("product.snapshot.lookups").tag("result", "miss").register(meterRegistry);
+        this.fullRefreshTimer = Timer.builder("product.snapshot.refresh").tag("type", "full").register(meterRegistry);
+        this.incrementalRefreshTimer = Timer.builder("product.snapshot.refresh").tag("type", "incremental").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "product-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        //전체 적재, 변경분 반영이 같은 스레드에서 차례로 실행되므로 서로 겹치지 않음
+        scheduler.execute(() -> runQuietly(this::rebuild));
+        scheduler.scheduleWithFixedDelay(() -> runQuietly(this::refresh),
+                refreshIntervalMillis, refreshIntervalMillis, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(() -> runQuietly(this::rebuild),
+                fullRefreshIntervalMillis, fullRefreshIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    //스냅샷에 없으면 null
+    public ProductResponseDto get(Long number) {
+        ProductSnapshotStore currentStore = store;
+        if (currentStore == null) {
+            return null;
+        }
+        ProductResponseDto product = currentStore.get(number);
+        (product != null ? hitCounter : missCounter).increment();
+        return product;
+    }
+
+    //이 서버에서 변경/삭제한 상품 - 다음 변경분 반영 전까지는 기존 조회로 처리 (read-your-writes)
+    public void evict(Long number) {
+        ProductSnapshotStore currentStore = store;
+        if (currentStore != null) {
+            currentStore.remove(number);
+        }
+        if (rebuilding) {
+            removedDuringRebuild.add(number);
+        }
+    }
+
+    //전체 적재 - 새 스냅샷을 만든 뒤 바꿔 끼움 (적재 중에는 기존 스냅샷으로 응답)
+    void rebuild() {
+        Timer.Sample sample = Timer.start();
+        rebuilding = true;
+        removedDuringRebuild.clear();
+        //적재 도중 바뀐 행은 다음 변경분 반영에서 다시 읽도록 시작 시각까지만 반영된 것으로 봄
+        LocalDateTime startedAt = LocalDateTime.now();
+        ProductSnapshotStore currentStore = store;
+        ProductSnapshotStore newStore = new ProductSnapshotStore(currentStore == null ? 1024 : currentStore.size());
+        LocalDateTime[] maxUpdatedAt = {INITIAL_WATERMARK};
+        try {
+            productRepository.exportProducts(product -> {
+                newStore.put(product.getNumber(), product.getName(), product.getPrice(), product.getStock(),
+                        product.getUpdatedAt());
+                if (product.getUpdatedAt() != null && product.getUpdatedAt().isAfter(maxUpdatedAt[0])) {
+                    maxUpdatedAt[0] = product.getUpdatedAt();
+                }
+            });
+            store = newStore;
+        } finally {
+            rebuilding = false;
+        }
+        removedDuringRebuild.forEach(newStore::remove);
+        removedDuringRebuild.clear();
+        watermark = maxUpdatedAt[0].isBefore(startedAt) ? maxUpdatedAt[0] : startedAt;
+        //시작 전 삭제는 적재 결과에 이미 반영됨
+        tombstoneWatermark = startedAt;
+
+        long elapsedNanos = sample.stop(fullRefreshTimer);
+        LOGGER.info("[rebuild] 상품 스냅샷 적재 완료, size : {}, offHeap : {}KB, {}ms",
+                newStore.size(), newStore.offHeapBytes() / 1024, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+    }
+
+    //변경분 반영 - (updatedAt, number) 순으로 keyset 조회, 삭제는 (deletedAt, number) 순으로
+    void refresh() {
+        ProductSnapshotStore currentStore = store;
+        if (currentStore == null) {
+            return;
+        }
+        Timer.Sample sample = Timer.start();
+        LocalDateTime afterUpdatedAt = watermark.minus(refreshLag);
+        long afterNumber = 0;
+        LocalDateTime maxUpdatedAt = watermark;
+        int refreshedCount = 0;
+        List<Product> products;
+        do {
+            products = productRepository.selectProductsUpdatedAfter(afterUpdatedAt, afterNumber, REFRESH_BATCH_SIZE);
+            for (Product product : products) {
+                currentStore.put(product.getNumber(), product.getName(), product.getPrice(), product.getStock(),
+                        product.getUpdatedAt());
+                afterUpdatedAt = product.getUpdatedAt();
+                afterNumber = product.getNumber();
+                if (afterUpdatedAt.isAfter(maxUpdatedAt)) {
+                    maxUpdatedAt = afterUpdatedAt;
+                }
+            }
+            refreshedCount += products.size();
+        } while (products.size() == REFRESH_BATCH_SIZE);
+        watermark = maxUpdatedAt;
+
+        int removedCount = removeDeleted(currentStore);
+
+        sample.stop(incrementalRefreshTimer);
+        LOGGER.debug("[refresh] 상품 스냅샷 변경분 반영, count : {}, removed : {}, watermark : {}",
+                refreshedCount, removedCount, watermark);
+    }
+
+    //tombstoneWatermark - refresh-lag 이후 삭제된 상품 제거
+    private int removeDeleted(ProductSnapshotStore currentStore) {
+        LocalDateTime afterDeletedAt = tombstoneWatermark.minus(refreshLag);
+        long afterNumber = 0;
+        LocalDateTime until = LocalDateTime.now();
+        LocalDateTime maxDeletedAt = tombstoneWatermark;
+        int removedCount = 0;
+        List<ProductTombstone> tombstones;
+        do {
+            tombstones = productRepository.selectTombstonesBetween(afterDeletedAt, afterNumber, until, REFRESH_BATCH_SIZE);
+            for (ProductTombstone tombstone : tombstones) {
+                currentStore.remove(tombstone.getNumber());
+                afterDeletedAt = tombstone.getDeletedAt();
+                afterNumber = tombstone.getNumber();
+                if (afterDeletedAt.isAfter(maxDeletedAt)) {
+                    maxDeletedAt = afterDeletedAt;
+                }
+            }
+            removedCount += tombstones.size();
+        } while (tombstones.size() == REFRESH_BATCH_SIZE);
+        tombstoneWatermark = maxDeletedAt;
+        return removedCount;
+    }
+
+    //스케줄러용 - 실패하면 기존 스냅샷을 그대로 두고 다음 주기에 다시 시도
+    private void runQuietly(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) { //예외가 나가면 scheduleWithFixedDelay 반복이 멈춤
+            LOGGER.error("[productSnapshot] 스냅샷 갱신 실패, 다음 주기에 재시도", e);
+        }
+    }
+}
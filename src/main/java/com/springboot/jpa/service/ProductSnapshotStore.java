@@ -0,0 +1,284 @@
+package com.springboot.jpa.service;
+
+import com.springboot.jpa.data.dto.ProductResponseDto;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * 상품 번호(long) -> 이름, 가격, 재고, 수정 시각 스냅샷 저장소 (HashMap&lt;Long, Product&gt; 대체)
+ *  - 인덱스 : long[] 키 + int[] 레코드 위치, 선형 탐사(open addressing) -> Long, Product, HashMap.Node 객체가 없음
+ *  - 레코드 : off-heap(direct ByteBuffer)에 [price int][stock int][updatedAt long][name 길이 short][name UTF-8]로 이어 붙임
+ *    updatedAt은 epoch 마이크로초(UTC 기준 LocalDateTime), 없으면 0 -> 본문과 같은 레코드에서 검증값(ETag)을 읽음
+ *    변경은 새 레코드를 뒤에 붙이고 위치만 바꿈 -> 버려진 공간이 절반을 넘으면 압축
+ *  - 힙에는 배열 두 개만 있으므로 상품 수가 늘어도 GC가 훑어야 할 객체 수는 그대로
+ *  - 읽기는 StampedLock 낙관적 읽기(락 없음, 쓰기와 겹치면 읽기 락으로 다시 읽음), 쓰기는 한 번에 하나
+ */
+public final class ProductSnapshotStore {
+
+    //상품 번호는 시퀀스로 1부터 채번되므로 0을 빈 칸 표시로 사용
+    private static final long EMPTY = 0L;
+    private static final int UPDATED_AT_OFFSET = Integer.BYTES * 2;
+    private static final int NAME_LENGTH_OFFSET = UPDATED_AT_OFFSET + Long.BYTES;
+    private static final int RECORD_HEADER_BYTES = NAME_LENGTH_OFFSET + Short.BYTES;
+    private static final long NO_UPDATED_AT = 0L;
+    private static final int MAX_NAME_BYTES = Short.MAX_VALUE;
+    private static final int MIN_CAPACITY = 16;
+    //이보다 작으면 압축하지 않음
+    private static final int MIN_COMPACT_BYTES = 1024 * 1024;
+
+    private final StampedLock lock = new StampedLock();
+
+    private long[] keys;
+    private int[] offsets;
+    private int size;
+
+    private ByteBuffer records;
+    private int usedBytes;      //records에 쓴 위치 (버려진 레코드 포함)
+    private long liveBytes;     //현재 인덱스가 가리키는 레코드 크기 합
+
+    public ProductSnapshotStore(int expectedSize) {
+        int capacity = tableCapacity(expectedSize);
+        this.keys = new long[capacity];
+        this.offsets = new int[capacity];
+        this.records = ByteBuffer.allocateDirect(Math.max(MIN_COMPACT_BYTES, expectedSize * 32));
+    }
+
+    //없으면 null
+    public ProductResponseDto get(long number) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                ProductResponseDto product = read(number);
+                if (lock.validate(stamp)) {
+                    return product;
+                }
+            } catch (RuntimeException e) {
+                //쓰기 도중의 배열/버퍼를 읽어서 어긋난 경우 - 아래에서 읽기 락으로 다시 읽음
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return read(number);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public void put(long number, String name, int price, int stock, LocalDateTime updatedAt) {
+        if (number == EMPTY) {
+            throw new IllegalArgumentException("상품 번호 0은 저장할 수 없습니다.");
+        }
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        if (nameBytes.length > MAX_NAME_BYTES) {
+            throw new IllegalArgumentException("이름이 너무 깁니다. number : " + number);
+        }
+
+        long stamp = lock.writeLock();
+        try {
+            int recordOffset = append(price, stock, toMicros(updatedAt), nameBytes);
+            int slot = slot(keys, number);
+            if (keys[slot] == number) {
+                liveBytes -= recordLength(records, offsets[slot]);
+            } else {
+                keys[slot] = number;
+                size++;
+            }
+            offsets[slot] = recordOffset;
+            liveBytes += RECORD_HEADER_BYTES + nameBytes.length;
+
+            //load factor 0.5 이하로 유지 (선형 탐사 길이를 짧게)
+            if (size * 2 > keys.length) {
+                resize(keys.length * 2);
+            }
+            if (usedBytes > MIN_COMPACT_BYTES && liveBytes * 2 < usedBytes) {
+                compact();
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public boolean remove(long number) {
+        long stamp = lock.writeLock();
+        try {
+            int slot = slot(keys, number);
+            if (keys[slot] != number) {
+                return false;
+            }
+            liveBytes -= recordLength(records, offsets[slot]);
+            size--;
+
+            //backward shift : 빈 칸 뒤의 키들 중 원래 자리로 더 가까워질 수 있는 키를 당겨옴 (삭제 표시 없이 탐사 유지)
+            int mask = keys.length - 1;
+            int gap = slot;
+            for (int i = (gap + 1) & mask; keys[i] != EMPTY; i = (i + 1) & mask) {
+                int home = index(keys[i], mask);
+                if (((i - home) & mask) >= ((i - gap) & mask)) {
+                    keys[gap] = keys[i];
+                    offsets[gap] = offsets[i];
+                    gap = i;
+                }
+            }
+            keys[gap] = EMPTY;
+            offsets[gap] = 0;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    //off-heap 레코드 버퍼 크기
+    public long offHeapBytes() {
+        long stamp = lock.readLock();
+        try {
+            return records.capacity();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    //낙관적 읽기에서도 호출되므로 필드는 지역 변수로 한 번만 읽음
+    private ProductResponseDto read(long number) {
+        long[] keys = this.keys;
+        int[] offsets = this.offsets;
+        ByteBuffer records = this.records;
+        int mask = keys.length - 1;
+        int index = index(number, mask);
+        for (int probe = 0; probe < keys.length; probe++, index = (index + 1) & mask) {
+            long key = keys[index];
+            if (key == number) {
+                return decode(number, records, offsets[index]);
+            }
+            if (key == EMPTY) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private ProductResponseDto decode(long number, ByteBuffer records, int offset) {
+        int price = records.getInt(offset);
+        int stock = records.getInt(offset + Integer.BYTES);
+        int nameLength = records.getShort(offset + NAME_LENGTH_OFFSET);
+        //쓰기와 겹쳐 읽은 길이가 이상하면 큰 배열을 만들기 전에 실패
+        if (nameLength < 0 || offset + RECORD_HEADER_BYTES + nameLength > records.capacity()) {
+            throw new IllegalStateException("잘못된 레코드 위치 : " + offset);
+        }
+        byte[] nameBytes = new byte[nameLength];
+        records.get(offset + RECORD_HEADER_BYTES, nameBytes);
+        return new ProductResponseDto(number, new String(nameBytes, StandardCharsets.UTF_8), price, stock,
+                toUpdatedAt(records.getLong(offset + UPDATED_AT_OFFSET)));
+    }
+
+    private static LocalDateTime toUpdatedAt(long micros) {
+        if (micros == NO_UPDATED_AT) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    //DB 컬럼 정밀도(마이크로초)까지만 저장
+    private static long toMicros(LocalDateTime updatedAt) {
+        if (updatedAt == null) {
+            return NO_UPDATED_AT;
+        }
+        return updatedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + updatedAt.getNano() / 1_000;
+    }
+
+    private int append(int price, int stock, long updatedAtMicros, byte[] nameBytes) {
+        int length = RECORD_HEADER_BYTES + nameBytes.length;
+        if ((long) usedBytes + length > records.capacity()) {
+            long newCapacity = Math.max((long) records.capacity() * 2, (long) usedBytes + length);
+            if (newCapacity > Integer.MAX_VALUE) {
+                throw new IllegalStateException("스냅샷 레코드 버퍼가 2GB를 넘습니다.");
+            }
+            ByteBuffer newRecords = ByteBuffer.allocateDirect((int) newCapacity);
+            newRecords.put(0, records, 0, usedBytes);
+            records = newRecords;
+        }
+        int offset = usedBytes;
+        writeRecord(records, offset, price, stock, updatedAtMicros, nameBytes);
+        usedBytes += length;
+        return offset;
+    }
+
+    private void writeRecord(ByteBuffer buffer, int offset, int price, int stock, long updatedAtMicros, byte[] nameBytes) {
+        buffer.putInt(offset, price);
+        buffer.putInt(offset + Integer.BYTES, stock);
+        buffer.putLong(offset + UPDATED_AT_OFFSET, updatedAtMicros);
+        buffer.putShort(offset + NAME_LENGTH_OFFSET, (short) nameBytes.length);
+        buffer.put(offset + RECORD_HEADER_BYTES, nameBytes);
+    }
+
+    private int recordLength(ByteBuffer buffer, int offset) {
+        return RECORD_HEADER_BYTES + buffer.getShort(offset + NAME_LENGTH_OFFSET);
+    }
+
+    private void resize(int capacity) {
+        long[] newKeys = new long[capacity];
+        int[] newOffsets = new int[capacity];
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                int slot = slot(newKeys, keys[i]);
+                newKeys[slot] = keys[i];
+                newOffsets[slot] = offsets[i];
+            }
+        }
+        keys = newKeys;
+        offsets = newOffsets;
+    }
+
+    //살아있는 레코드만 새 버퍼로 옮김
+    private void compact() {
+        ByteBuffer newRecords = ByteBuffer.allocateDirect((int) Math.max(MIN_COMPACT_BYTES, liveBytes * 2));
+        int newUsedBytes = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                int length = recordLength(records, offsets[i]);
+                newRecords.put(newUsedBytes, records, offsets[i], length);
+                offsets[i] = newUsedBytes;
+                newUsedBytes += length;
+            }
+        }
+        records = newRecords;
+        usedBytes = newUsedBytes;
+    }
+
+    //number가 있는 칸 또는 넣을 빈 칸
+    private int slot(long[] keys, long number) {
+        int mask = keys.length - 1;
+        int index = index(number, mask);
+        while (keys[index] != EMPTY && keys[index] != number) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    //연속된 번호가 이웃 칸에 몰리지 않도록 섞음 (Fibonacci hashing)
+    private static int index(long number, int mask) {
+        long hash = number * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static int tableCapacity(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < (long) expectedSize * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
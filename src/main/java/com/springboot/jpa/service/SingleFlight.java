@@ -0,0 +1,52 @@
+package com.springboot.jpa.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 같은 key에 대해 동시에 들어온 조회를 하나로 합침 (single-flight)
+ *  - 처음 들어온 호출(leader)만 loader를 실행하고, 실행 중에 들어온 호출은 그 결과(또는 예외)를 같이 받음
+ *  - key별로 CompletableFuture를 putIfAbsent로 등록하므로 전역 락이 없고, loader는 맵 락 밖에서 실행됨
+ *    (ConcurrentHashMap.compute 안에서 DB 조회를 하면 같은 bin의 다른 key까지 막고 가상 스레드가 pinning됨)
+ *  - 결과를 보관하지 않음 - 조회가 끝나면 바로 제거 (캐시는 별도)
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, future);
+        if (running != null) {
+            return await(running);
+        }
+
+        try {
+            V value = loader.get();
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    //leader에서 발생한 예외를 그대로 다시 던짐 (NoSuchElementException 등)
+    private V await(CompletableFuture<V> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
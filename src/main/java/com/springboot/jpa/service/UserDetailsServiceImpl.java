@@ -4,9 +4,18 @@ import com.springboot.jpa.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
 
 @RequiredArgsConstructor
 @Service
@@ -15,11 +24,52 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     private final Logger LOGGER = LoggerFactory.getLogger(UserDetailsServiceImpl.class);
 
     private final UserRepository userRepository;
+    private final UserCache userCache;
 
     @Override
     public UserDetails loadUserByUsername(String username) {
-        LOGGER.info("[loadUserByUsername] loadUserByUsername 수행. username : {}", username);
+        LOGGER.debug("[loadUserByUsername] loadUserByUsername 수행. username : {}", username);
+        //캐시에 있으면 DB(user + user_roles 조인) 조회 생략
+        //인증 후 ProviderManager가 반환된 객체의 비밀번호를 지우므로(eraseCredentials) 캐시된 객체 대신 복사본 반환
+        UserDetails cachedUser = userCache.getUserFromCache(username);
+        if (cachedUser != null) {
+            return User.withUserDetails(cachedUser).build();
+        }
+
         //db에서 유저 조회 후 반환
-        return userRepository.getByUid(username); //userDetails의 구현체로 만든 Usr 객체 반환
+        UserDetails user = userRepository.getByUid(username); //userDetails의 구현체로 만든 Usr 객체 반환
+        if (user == null) {
+            return null;
+        }
+        //엔티티 대신 불변 UserDetails 복사본을 캐시 (영속성 컨텍스트와 무관하게 여러 요청이 공유)
+        userCache.putUserInCache(User.withUserDetails(user).build());
+        return User.withUserDetails(user).build();
+    }
+
+    //권한 변경 - roles(@ElementCollection)만 바뀌면 User 엔티티 리스너가 호출되지 않을 수 있으므로 직접 캐시 제거
+    @Transactional
+    public void changeRoles(String uid, List<String> roles) {
+        com.springboot.jpa.data.entity.User user = userRepository.getByUid(uid);
+        if (user == null) {
+            throw new NoSuchElementException("사용자가 없습니다. uid : " + uid);
+        }
+        user.setRoles(new ArrayList<>(roles));
+        LOGGER.info("[changeRoles] uid : {}, roles : {}", uid, roles);
+        evictUser(uid);
+    }
+
+    //사용자 정보나 권한(roles)이 바뀌면 호출해서 캐시 제거
+    //트랜잭션 안에서 호출하면 커밋 이후에 제거 (커밋 전에 제거하면 다른 요청이 이전 권한을 다시 캐시할 수 있음)
+    public void evictUser(String uid) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            userCache.removeUserFromCache(uid);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                userCache.removeUserFromCache(uid);
+            }
+        });
     }
 }
@@ -0,0 +1,169 @@
+package com.springboot.jpa;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 빌드된 애플리케이션(네이티브 바이너리 또는 bootJar)을 별도 프로세스로 띄워서 /product CRUD 확인
+ *  - 실행 : ./gradlew nativeSmokeTest (네이티브), ./gradlew jvmSmokeTest (JVM)
+ *  - 빌드(processAot)와 같은 프로필(smoke.profiles, 기본 prod)로 실행, 데이터소스와 스키마 생성만 덮어씀
+ *  - MySQL 대신 내장 H2 사용, 인증용 사용자는 native-smoke/data.sql 로 등록
+ *  - 시작 ~ 첫 응답 시간과 CRUD 후 RSS(Linux /proc) 출력 -> 네이티브/JVM 비교
+ */
+@Tag("native-smoke")
+public class NativeSmokeTest {
+
+    private static final String USERNAME = "smoke";
+    private static final String PASSWORD = "smoke";
+    private static final Pattern CSRF_TOKEN = Pattern.compile("name=\"_csrf\"[^>]*value=\"([^\"]+)\"");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .cookieHandler(new CookieManager()) //CSRF 토큰은 세션(JSESSIONID)에 저장됨
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+    private final String authorization = "Basic " + Base64.getEncoder()
+            .encodeToString((USERNAME + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+
+    private String baseUrl;
+    private String csrfToken;
+
+    @Test
+    void productCrud() throws Exception {
+        int port = freePort();
+        baseUrl = "http://localhost:" + port;
+        Process process = start(port);
+        try {
+            long startupMillis = awaitFirstResponse(process, System.nanoTime());
+            csrfToken = fetchCsrfToken();
+
+            //등록
+            HttpResponse<String> created = send("POST", "/product", "{\"name\":\"펜\",\"price\":1000,\"stock\":100}");
+            assertEquals(200, created.statusCode(), created.body());
+            long number = objectMapper.readTree(created.body()).get("number").asLong();
+
+            //조회
+            HttpResponse<String> found = send("GET", "/product?number=" + number, null);
+            assertEquals(200, found.statusCode(), found.body());
+            assertEquals("펜", objectMapper.readTree(found.body()).get("name").asText());
+
+            //이름 변경
+            HttpResponse<String> changed = send("PUT", "/product", "{\"number\":" + number + ",\"name\":\"연필\"}");
+            assertEquals(200, changed.statusCode(), changed.body());
+            JsonNode changedProduct = objectMapper.readTree(changed.body());
+            assertEquals("연필", changedProduct.get("name").asText());
+
+            //삭제
+            HttpResponse<String> deleted = send("DELETE", "/product?number=" + number, null);
+            assertEquals(200, deleted.statusCode(), deleted.body());
+            assertNotEquals(200, send("GET", "/product?number=" + number, null).statusCode());
+
+            System.out.printf("[native-smoke] target=%s startup=%dms rss=%s%n",
+                    System.getProperty("smoke.target"), startupMillis, residentSetSize(process.pid()));
+        } finally {
+            process.destroy();
+            process.waitFor(30, TimeUnit.SECONDS);
+        }
+    }
+
+    private Process start(int port) throws Exception {
+        Path dataScript = Paths.get(getClass().getResource("/native-smoke/data.sql").toURI());
+        Path log = Files.createTempFile("native-smoke", ".log");
+        List<String> command = new ArrayList<>(Arrays.asList(System.getProperty("smoke.command").split("\\|")));
+        command.addAll(List.of(
+                "--server.port=" + port,
+                "--spring.profiles.active=" + System.getProperty("smoke.profiles", "prod"),
+                "--spring.datasource.driverClassName=org.h2.Driver",
+                "--spring.datasource.url=jdbc:h2:mem:smoke;DB_CLOSE_DELAY=-1;NON_KEYWORDS=USER",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                //prod는 validate - 빈 H2에 스키마 생성
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.jpa.defer-datasource-initialization=true",
+                "--spring.sql.init.mode=always",
+                "--spring.sql.init.data-locations=file:" + dataScript));
+        System.out.println("[native-smoke] log : " + log);
+        return new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+    }
+
+    //인증 없이 요청하므로 401이어도 요청을 처리한 것으로 봄
+    private long awaitFirstResponse(Process process, long start) throws Exception {
+        while (System.nanoTime() - start < TimeUnit.SECONDS.toNanos(60)) {
+            assertTrue(process.isAlive(), "애플리케이션이 시작 중 종료됨");
+            try {
+                client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/product?number=0")).build(),
+                        HttpResponse.BodyHandlers.discarding());
+                return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            } catch (IOException e) {
+                Thread.sleep(10);
+            }
+        }
+        throw new AssertionError("60초 안에 응답하지 않음");
+    }
+
+    //POST/PUT/DELETE는 CSRF 토큰 필요 - 기본 로그인 페이지의 hidden input에서 가져옴
+    private String fetchCsrfToken() throws Exception {
+        HttpResponse<String> loginPage = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/login")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = CSRF_TOKEN.matcher(loginPage.body());
+        assertTrue(matcher.find(), "로그인 페이지에 CSRF 토큰이 없음");
+        return matcher.group(1);
+    }
+
+    private HttpResponse<String> send(String method, String path, String json) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", authorization)
+                .header("X-CSRF-TOKEN", csrfToken);
+        if (json == null) {
+            builder.method(method, HttpRequest.BodyPublishers.noBody());
+        } else {
+            builder.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(json));
+        }
+        return client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static int freePort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static String residentSetSize(long pid) throws Exception {
+        Path status = Paths.get("/proc/" + pid + "/status");
+        if (!Files.exists(status)) {
+            return "n/a";
+        }
+        return Files.readAllLines(status).stream()
+                .filter(line -> line.startsWith("VmRSS:"))
+                .map(line -> line.substring("VmRSS:".length()).trim())
+                .findFirst()
+                .orElse("n/a");
+    }
+}
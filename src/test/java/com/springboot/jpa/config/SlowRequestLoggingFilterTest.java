@@ -0,0 +1,82 @@
+package com.springboot.jpa.config;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SlowRequestLoggingFilterTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(SlowRequestLoggingFilter.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void logsRequestOverThreshold() throws Exception {
+        doFilter(new SlowRequestLoggingFilter(Duration.ZERO, 1.0));
+
+        assertEquals(1, appender.list.size());
+        assertTrue(appender.list.get(0).getFormattedMessage().startsWith("[slowRequest] GET /product"));
+    }
+
+    @Test
+    void skipsFastRequest() throws Exception {
+        doFilter(new SlowRequestLoggingFilter(Duration.ofHours(1), 1.0));
+
+        assertEquals(0, appender.list.size());
+    }
+
+    @Test
+    void skipsUnsampledRequest() throws Exception {
+        doFilter(new SlowRequestLoggingFilter(Duration.ZERO, 0.0));
+
+        assertEquals(0, appender.list.size());
+    }
+
+    @Test
+    void logsAsyncRequestWhenCompleted() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/async/product");
+        request.setAsyncSupported(true);
+        new SlowRequestLoggingFilter(Duration.ZERO, 1.0).doFilter(request, new MockHttpServletResponse(),
+                new MockFilterChain(new HttpServlet() {
+                    @Override
+                    protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                        req.startAsync();
+                    }
+                }));
+
+        //요청 스레드 반환 시점이 아니라 응답 완료 시점에 기록
+        assertEquals(0, appender.list.size());
+        request.getAsyncContext().complete();
+        assertEquals(1, appender.list.size());
+        assertTrue(appender.list.get(0).getFormattedMessage().startsWith("[slowRequest] GET /async/product"));
+    }
+
+    private void doFilter(SlowRequestLoggingFilter filter) throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/product"), new MockHttpServletResponse(), new MockFilterChain());
+    }
+}
@@ -0,0 +1,84 @@
+package com.springboot.jpa.config.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.lang.reflect.Field;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JwtTokenProviderTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private JwtTokenProvider jwtTokenProvider;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        jwtTokenProvider = new JwtTokenProvider(null, meterRegistry);
+        Field secretKeyField = JwtTokenProvider.class.getDeclaredField("secretKey");
+        secretKeyField.setAccessible(true);
+        secretKeyField.set(jwtTokenProvider, "around-hub-studio-flature-spring-boot-3!@#");
+        jwtTokenProvider.init();
+    }
+
+    @Test
+    void validateAndGetUsername() {
+        String token = jwtTokenProvider.createToken("user123", List.of("ROLE_USER"));
+
+        //두 번째 호출부터는 캐시된 검증 결과 사용
+        assertTrue(jwtTokenProvider.validateToken(token));
+        assertTrue(jwtTokenProvider.validateToken(token));
+        assertEquals("user123", jwtTokenProvider.getUsername(token));
+    }
+
+    @Test
+    void tamperedTokenIsRejectedEvenAfterOriginalIsCached() {
+        String token = jwtTokenProvider.createToken("user123", List.of("ROLE_USER"));
+        assertTrue(jwtTokenProvider.validateToken(token));
+
+        //서명 부분 중간 글자 변조 (마지막 글자는 패딩 비트만 바뀔 수 있어서 피함)
+        int index = token.lastIndexOf('.') + 5;
+        char replaced = token.charAt(index) == 'A' ? 'B' : 'A';
+        String tamperedToken = token.substring(0, index) + replaced + token.substring(index + 1);
+
+        assertFalse(jwtTokenProvider.validateToken(tamperedToken));
+        assertFalse(jwtTokenProvider.validateToken("not-a-token"));
+    }
+
+    @Test
+    void statelessAuthenticationUsesRolesClaim() throws Exception {
+        //userDetailsService가 null이어도 동작해야 함 (DB 조회 없음)
+        Field statelessField = JwtTokenProvider.class.getDeclaredField("stateless");
+        statelessField.setAccessible(true);
+        statelessField.set(jwtTokenProvider, true);
+        String token = jwtTokenProvider.createToken("user123", List.of("ROLE_USER", "ROLE_ADMIN"));
+
+        Authentication authentication = jwtTokenProvider.getAuthentication(token);
+
+        assertEquals("user123", authentication.getName());
+        assertEquals(List.of("ROLE_USER", "ROLE_ADMIN"),
+                authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+    }
+
+    @Test
+    void parseStagesAreTimed() {
+        String token = jwtTokenProvider.createToken("user123", List.of("ROLE_USER"));
+
+        jwtTokenProvider.validateToken(token); //서명 검증
+        jwtTokenProvider.validateToken(token); //캐시 hit
+        jwtTokenProvider.validateToken("not-a-token"); //검증 실패
+
+        assertEquals(1, meterRegistry.get("jwt.parse").tag("result", "verified").timer().count());
+        assertEquals(1, meterRegistry.get("jwt.parse").tag("result", "cached").timer().count());
+        assertEquals(1, meterRegistry.get("jwt.parse").tag("result", "rejected").timer().count());
+        assertEquals(2.0, meterRegistry.get("jwt.validation").tag("result", "valid").counter().count());
+        assertEquals(1.0, meterRegistry.get("jwt.validation").tag("result", "invalid").counter().count());
+    }
+}
@@ -0,0 +1,173 @@
+package com.springboot.jpa.controller;
+
+import com.springboot.jpa.data.entity.Product;
+import com.springboot.jpa.data.entity.User;
+import com.springboot.jpa.repository.ProductRepository;
+import com.springboot.jpa.repository.UserRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 동기(/product/search) vs 비동기(/async/product/search) 부하 테스트 - DB가 느릴 때 (조회마다 SlowJdbcConfiguration 지연)
+ *  - Tomcat 스레드 16개, 커넥션 풀 8개, productTaskExecutor 큐 64개로 일부러 작게 잡음
+ *  - 부하 중에 DB를 쓰지 않는 GET /login 응답 시간을 따로 측정 -> 요청 스레드가 비어 있는지 확인
+ *  - 비동기는 포화 시 503으로 바로 거절하므로 성공 응답의 p99가 대기열 길이 이상으로 늘어나지 않음
+ *  - 실행 : ./gradlew benchmark
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.driverClassName=org.h2.Driver",
+        "spring.datasource.url=jdbc:h2:mem:async-load;DB_CLOSE_DELAY=-1;NON_KEYWORDS=USER",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.maximum-pool-size=8",
+        "spring.jpa.show-sql=false",
+        "server.tomcat.threads.max=16",
+        "springboot.product.async.queue-capacity=64",
+        "spring.threads.virtual.enabled=false"
+})
+@Import(SlowJdbcConfiguration.class)
+public class AsyncProductLoadTest {
+
+    private static final String USERNAME = "async-load";
+    private static final String PASSWORD = "async-load";
+
+    private static final int CONCURRENCY = 200;
+    private static final int REQUESTS = 4_000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void compareSyncAndAsyncUnderSlowDatabase() throws Exception {
+        userRepository.save(User.builder()
+                .uid(USERNAME)
+                .password("{noop}" + PASSWORD)
+                .name(USERNAME)
+                .roles(List.of("ROLE_USER"))
+                .build());
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            products.add(Product.create("상품" + i, 1000, 100));
+        }
+        productRepository.insertProducts(products);
+
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(32);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .build();
+        try {
+            run(client, "/product/search?name=상품1", 500); //워밍업
+            report("sync ", run(client, "/product/search?name=상품1", REQUESTS));
+            report("async", run(client, "/async/product/search?name=상품1", REQUESTS));
+        } finally {
+            clientExecutor.shutdownNow();
+        }
+    }
+
+    private LoadResult run(HttpClient client, String path, int count) throws Exception {
+        String authorization = "Basic " + Base64.getEncoder()
+                .encodeToString((USERNAME + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+        URI uri = URI.create("http://localhost:" + port + path.replace("상품", "%EC%83%81%ED%92%88"));
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        ConcurrentLinkedQueue<Long> okLatencies = new ConcurrentLinkedQueue<>();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+
+        //부하가 도는 동안 DB를 쓰지 않는 요청의 응답 시간 (요청 스레드가 남아 있는지)
+        AtomicBoolean loading = new AtomicBoolean(true);
+        List<Long> probeLatencies = new ArrayList<>();
+        Thread probe = new Thread(() -> {
+            HttpRequest probeRequest = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/login")).build();
+            while (loading.get()) {
+                long start = System.nanoTime();
+                try {
+                    client.send(probeRequest, HttpResponse.BodyHandlers.discarding());
+                    probeLatencies.add(System.nanoTime() - start);
+                    Thread.sleep(10);
+                } catch (Exception e) {
+                    return;
+                }
+            }
+        });
+        probe.start();
+
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[count];
+        for (int i = 0; i < count; i++) {
+            inFlight.acquire();
+            HttpRequest request = HttpRequest.newBuilder(uri).header("Authorization", authorization).GET().build();
+            long start = System.nanoTime();
+            futures[i] = client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, throwable) -> {
+                        if (throwable == null && response.statusCode() == 200) {
+                            okLatencies.add(System.nanoTime() - start);
+                        } else if (throwable == null && response.statusCode() == 503
+                                && response.headers().firstValue("Retry-After").isPresent()) {
+                            rejected.incrementAndGet();
+                        } else {
+                            failures.incrementAndGet();
+                        }
+                        inFlight.release();
+                    });
+        }
+        CompletableFuture.allOf(futures).exceptionally(throwable -> null).join();
+        loading.set(false);
+        probe.join();
+
+        assertEquals(0, failures.get());
+        return new LoadResult(toSortedArray(okLatencies), rejected.get(), toSortedArray(probeLatencies));
+    }
+
+    private void report(String mode, LoadResult result) {
+        System.out.printf("[benchmark] %s ok=%d rejected(503)=%d p50=%.1fms p99=%.1fms | probe(/login) p50=%.1fms p99=%.1fms%n",
+                mode, result.okLatencies().length, result.rejected(),
+                percentile(result.okLatencies(), 50), percentile(result.okLatencies(), 99),
+                percentile(result.probeLatencies(), 50), percentile(result.probeLatencies(), 99));
+    }
+
+    private long[] toSortedArray(Iterable<Long> values) {
+        List<Long> list = new ArrayList<>();
+        values.forEach(list::add);
+        return list.stream().mapToLong(Long::longValue).sorted().toArray();
+    }
+
+    private double percentile(long[] sortedNanos, int percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private record LoadResult(long[] okLatencies, int rejected, long[] probeLatencies) {
+    }
+}
@@ -1,5 +1,7 @@
 package com.springboot.jpa.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import com.google.gson.Gson;
 import com.springboot.jpa.data.dto.ProductDto;
 import com.springboot.jpa.data.dto.ProductResponseDto;
@@ -14,12 +16,16 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.lang.reflect.Field;
+import java.time.LocalDateTime;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -126,4 +132,49 @@ public class ProductControllerTest {
         verify(productService).saveProduct(new ProductDto("pen", 5000, 2000));
     }
 
+    @Test
+    @DisplayName("ETag가 같으면 본문 없이 304")
+    void getProductNotModifiedTest() throws Exception {
+        given(productService.getProduct(123L)).willReturn(
+                ProductResponseDto.of(123L, "pen", 5000, 2000, LocalDateTime.of(2025, 1, 1, 12, 0, 0, 123_456_000)));
+
+        String eTag = mockMvc.perform(get("/product?number=123"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().exists("Last-Modified"))
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                //검증값은 헤더로만, 본문 JSON에는 넣지 않음
+                .andExpect(jsonPath("$.updatedAt").doesNotExist())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/product?number=123").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("DB 반영 전 변경이 있으면(버전 없음) 검증값 없이 200")
+    void getProductWithoutVersionTest() throws Exception {
+        given(productService.getProduct(123L)).willReturn(ProductResponseDto.of(123L, "pen", 5000, 2000));
+
+        mockMvc.perform(get("/product?number=123").header("If-None-Match", "\"123-0.0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"));
+    }
+
+    @Test
+    @DisplayName("Accept: application/cbor 이면 CBOR로 응답")
+    void getProductCborTest() throws Exception {
+        given(productService.getProduct(123L)).willReturn(ProductResponseDto.of(123L, "pen", 5000, 2000));
+
+        byte[] body = mockMvc.perform(get("/product?number=123").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", MediaType.APPLICATION_CBOR_VALUE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode product = new CBORMapper().readTree(body);
+        assertEquals(123L, product.get("number").asLong());
+        assertEquals("pen", product.get("name").asText());
+    }
 }
@@ -0,0 +1,129 @@
+package com.springboot.jpa.controller;
+
+import com.springboot.jpa.data.entity.Product;
+import com.springboot.jpa.data.entity.User;
+import com.springboot.jpa.repository.ProductRepository;
+import com.springboot.jpa.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 프로세스 내 부하 테스트 공통 로직 (GET /product, 동시 연결 1,000개)
+ *  - 실제 Tomcat(랜덤 포트) + H2, 조회 쿼리마다 SlowJdbcConfiguration의 지연을 넣어 MySQL 왕복을 흉내냄
+ *  - 처리량(req/s)과 p50/p99 지연시간 출력 -> PlatformThreadLoadTest / VirtualThreadLoadTest 결과 비교
+ *  - 실행 : ./gradlew benchmark -PjavaVersion=21 (가상 스레드는 Java 21 이상에서만 적용됨)
+ */
+abstract class ProductLoadTestSupport {
+
+    static final String USERNAME = "load";
+    static final String PASSWORD = "load";
+
+    private static final int CONCURRENCY = 1_000;
+    private static final int REQUESTS = 20_000;
+    private static final int WARMUP_REQUESTS = 2_000;
+    private static final int PRODUCTS = 100;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void getProductUnderLoad() throws Exception {
+        //HTTP Basic 인증은 UserDetailsServiceImpl(DB 사용자)로 처리되므로 테스트 사용자 등록
+        userRepository.save(User.builder()
+                .uid(USERNAME)
+                .password("{noop}" + PASSWORD)
+                .name(USERNAME)
+                .roles(List.of("ROLE_USER"))
+                .build());
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(Product.create("상품" + i, 1000, 100));
+        }
+        List<Long> numbers = productRepository.insertProducts(products).stream().map(Product::getNumber).toList();
+
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(32);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .build();
+        try {
+            run(client, numbers, WARMUP_REQUESTS);
+            long start = System.nanoTime();
+            long[] latencies = run(client, numbers, REQUESTS);
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            Arrays.sort(latencies);
+            System.out.printf("[benchmark] java=%s virtualThreads=%s concurrency=%d -> %.0f req/s, p50=%.1fms p99=%.1fms%n",
+                    Runtime.version().feature(), virtualThreads && Runtime.version().feature() >= 21, CONCURRENCY,
+                    REQUESTS / seconds, percentile(latencies, 50), percentile(latencies, 99));
+        } finally {
+            clientExecutor.shutdownNow();
+        }
+    }
+
+    //동시에 최대 CONCURRENCY개 요청이 진행되도록 유지하면서 count개 요청
+    private long[] run(HttpClient client, List<Long> numbers, int count) throws Exception {
+        String authorization = "Basic " + Base64.getEncoder()
+                .encodeToString((USERNAME + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        AtomicInteger failures = new AtomicInteger();
+        long[] latencies = new long[count];
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[count];
+
+        for (int i = 0; i < count; i++) {
+            inFlight.acquire();
+            int index = i;
+            HttpRequest request = HttpRequest.newBuilder(
+                            URI.create("http://localhost:" + port + "/product?number=" + numbers.get(i % numbers.size())))
+                    .header("Authorization", authorization)
+                    .GET()
+                    .build();
+            long start = System.nanoTime();
+            futures[i] = client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, throwable) -> {
+                        latencies[index] = System.nanoTime() - start;
+                        if (throwable != null || response.statusCode() != 200) {
+                            failures.incrementAndGet();
+                        }
+                        inFlight.release();
+                    });
+        }
+        CompletableFuture.allOf(futures).exceptionally(throwable -> null).join();
+        assertEquals(0, failures.get());
+        return latencies;
+    }
+
+    private double percentile(long[] sortedNanos, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,61 @@
+package com.springboot.jpa.controller;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+/**
+ * 부하 테스트용 - H2가 원격 MySQL처럼 느리게 응답하도록 조회 쿼리마다 지연 추가
+ * (DataSource -> Connection -> PreparedStatement 를 JDK 동적 프록시로 감쌈)
+ */
+@TestConfiguration
+public class SlowJdbcConfiguration {
+
+    static final long QUERY_LATENCY_MS = 20;
+
+    @Bean
+    static BeanPostProcessor slowDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource) {
+                    return proxy(DataSource.class, dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target) {
+        return (T) Proxy.newProxyInstance(SlowJdbcConfiguration.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("executeQuery")) {
+                        Thread.sleep(QUERY_LATENCY_MS);
+                    }
+                    Object result = invoke(method, target, args);
+                    if (result instanceof Connection connection && method.getReturnType() == Connection.class) {
+                        return proxy(Connection.class, connection);
+                    }
+                    if (result instanceof PreparedStatement statement && method.getReturnType() == PreparedStatement.class) {
+                        return proxy(PreparedStatement.class, statement);
+                    }
+                    return result;
+                });
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
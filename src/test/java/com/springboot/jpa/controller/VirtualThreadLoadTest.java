@@ -0,0 +1,23 @@
+package com.springboot.jpa.controller;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+/**
+ * 부하 테스트 - 가상 스레드 (spring.threads.virtual.enabled=true, Java 21 이상)
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.driverClassName=org.h2.Driver",
+        "spring.datasource.url=jdbc:h2:mem:virtual-load;DB_CLOSE_DELAY=-1;NON_KEYWORDS=USER",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.maximum-pool-size=1000", //커넥션 풀이 아니라 스레드 모델 차이를 보기 위해 크게
+        "spring.jpa.show-sql=false",
+        "spring.cache.type=none", //매 요청 DB 조회
+        "spring.threads.virtual.enabled=true"
+})
+@Import(SlowJdbcConfiguration.class)
+public class VirtualThreadLoadTest extends ProductLoadTestSupport {
+}
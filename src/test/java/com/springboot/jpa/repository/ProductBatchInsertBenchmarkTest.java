@@ -0,0 +1,69 @@
+package com.springboot.jpa.repository;
+
+import com.springboot.jpa.data.entity.Product;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 단건 insert(insertProduct) vs 배치 insert(insertProducts) 초당 처리 건수 비교 (H2)
+ *  - 실행 : ./gradlew benchmark
+ *  - 실제 서비스처럼 호출마다 커밋되도록 테스트 트랜잭션을 끔 (NOT_SUPPORTED)
+ */
+@Tag("benchmark")
+@DataJpaTest(showSql = false)
+@Import(ProductRepositoryImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ProductBatchInsertBenchmarkTest {
+
+    private static final int ROWS = 20_000;
+    private static final int REQUEST_SIZE = 1_000; //POST /product/batch 한 번에 보내는 건수
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void compareSingleAndBatchInsert() {
+        //워밍업
+        insertOneByOne(1_000);
+        insertInBatches(1_000);
+
+        double singleRowsPerSec = insertOneByOne(ROWS);
+        double batchRowsPerSec = insertInBatches(ROWS);
+
+        System.out.printf("[benchmark] single insert : %.0f rows/s%n", singleRowsPerSec);
+        System.out.printf("[benchmark] batch insert  : %.0f rows/s (x%.1f)%n",
+                batchRowsPerSec, batchRowsPerSec / singleRowsPerSec);
+    }
+
+    private double insertOneByOne(int rows) {
+        long start = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            productRepository.insertProduct(Product.create("상품" + i, 1000, 100));
+        }
+        return rowsPerSecond(rows, System.nanoTime() - start);
+    }
+
+    private double insertInBatches(int rows) {
+        long start = System.nanoTime();
+        for (int offset = 0; offset < rows; offset += REQUEST_SIZE) {
+            List<Product> products = new ArrayList<>(REQUEST_SIZE);
+            for (int i = offset; i < Math.min(offset + REQUEST_SIZE, rows); i++) {
+                products.add(Product.create("상품" + i, 1000, 100));
+            }
+            productRepository.insertProducts(products);
+        }
+        return rowsPerSecond(rows, System.nanoTime() - start);
+    }
+
+    private double rowsPerSecond(int rows, long elapsedNanos) {
+        return rows / (elapsedNanos / 1_000_000_000.0);
+    }
+}
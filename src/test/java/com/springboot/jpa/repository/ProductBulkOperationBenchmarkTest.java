@@ -0,0 +1,88 @@
+package com.springboot.jpa.repository;
+
+import com.springboot.jpa.data.entity.Product;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 건별 조회 후 변경(updateProduct, deleteProduct 반복) vs set 기반 벌크 연산(updateProductNames, deleteProducts)
+ * 초당 처리 건수 비교 (H2)
+ *  - 실행 : ./gradlew benchmark
+ *  - 실제 서비스처럼 호출마다 커밋되도록 테스트 트랜잭션을 끔 (NOT_SUPPORTED)
+ */
+@Tag("benchmark")
+@DataJpaTest(showSql = false)
+@Import(ProductRepositoryImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ProductBulkOperationBenchmarkTest {
+
+    private static final int ROWS = 10_000;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void compareLoopAndBulkOperations() {
+        //워밍업
+        updateOneByOne(insertProducts(1_000));
+        productRepository.updateProductNames(insertProducts(1_000), "워밍업");
+        deleteOneByOne(insertProducts(1_000));
+        productRepository.deleteProducts(insertProducts(1_000));
+
+        List<Long> loopNumbers = insertProducts(ROWS);
+        List<Long> bulkNumbers = insertProducts(ROWS);
+
+        double loopUpdateRowsPerSec = updateOneByOne(loopNumbers);
+        long start = System.nanoTime();
+        int updatedCount = productRepository.updateProductNames(bulkNumbers, "벌크");
+        double bulkUpdateRowsPerSec = rowsPerSecond(updatedCount, System.nanoTime() - start);
+
+        double loopDeleteRowsPerSec = deleteOneByOne(loopNumbers);
+        start = System.nanoTime();
+        int deletedCount = productRepository.deleteProducts(bulkNumbers);
+        double bulkDeleteRowsPerSec = rowsPerSecond(deletedCount, System.nanoTime() - start);
+
+        System.out.printf("[benchmark] loop update : %.0f rows/s%n", loopUpdateRowsPerSec);
+        System.out.printf("[benchmark] bulk update : %.0f rows/s (x%.1f)%n",
+                bulkUpdateRowsPerSec, bulkUpdateRowsPerSec / loopUpdateRowsPerSec);
+        System.out.printf("[benchmark] loop delete : %.0f rows/s%n", loopDeleteRowsPerSec);
+        System.out.printf("[benchmark] bulk delete : %.0f rows/s (x%.1f)%n",
+                bulkDeleteRowsPerSec, bulkDeleteRowsPerSec / loopDeleteRowsPerSec);
+    }
+
+    private List<Long> insertProducts(int rows) {
+        List<Product> products = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            products.add(Product.create("벤치" + i, 1000, 100));
+        }
+        return productRepository.insertProducts(products).stream().map(Product::getNumber).toList();
+    }
+
+    private double updateOneByOne(List<Long> numbers) {
+        long start = System.nanoTime();
+        for (Long number : numbers) {
+            productRepository.updateProduct(number, "건별");
+        }
+        return rowsPerSecond(numbers.size(), System.nanoTime() - start);
+    }
+
+    private double deleteOneByOne(List<Long> numbers) {
+        long start = System.nanoTime();
+        for (Long number : numbers) {
+            productRepository.deleteProduct(number);
+        }
+        return rowsPerSecond(numbers.size(), System.nanoTime() - start);
+    }
+
+    private double rowsPerSecond(int rows, long elapsedNanos) {
+        return rows / (elapsedNanos / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,107 @@
+package com.springboot.jpa.repository;
+
+import com.springboot.jpa.data.entity.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * insertProducts의 insert가 드라이버에 실제로 배치(addBatch + executeBatch)로 전달되는지 확인
+ * (DataSource -> Connection -> PreparedStatement 를 JDK 동적 프록시로 감싸서 호출을 기록)
+ */
+@DataJpaTest(showSql = false)
+@Import({ProductRepositoryImpl.class, ProductJdbcBatchTest.BatchRecordingConfiguration.class})
+public class ProductJdbcBatchTest {
+
+    private static final String INSERT_PRODUCT_SQL = "insert into product ";
+
+    //executeBatch 한 번에 전달된 product insert 건수
+    private static final List<Integer> productInsertBatchSizes = Collections.synchronizedList(new ArrayList<>());
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @BeforeEach
+    void setUp() {
+        productInsertBatchSizes.clear();
+    }
+
+    @Test
+    void insertsReachDriverAsBatches() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            products.add(Product.create("상품" + i, 1000, 100));
+        }
+
+        productRepository.insertProducts(products);
+
+        //hibernate.jdbc.batch_size=50 -> 50, 50, 20 세 번의 executeBatch
+        assertEquals(List.of(50, 50, 20), productInsertBatchSizes);
+    }
+
+    @TestConfiguration
+    static class BatchRecordingConfiguration {
+
+        @Bean
+        static BeanPostProcessor batchRecordingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource) {
+                        return proxy(DataSource.class, dataSource, null);
+                    }
+                    return bean;
+                }
+            };
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, T target, String sql) {
+            AtomicInteger pendingBatch = new AtomicInteger();
+            return (T) Proxy.newProxyInstance(ProductJdbcBatchTest.class.getClassLoader(), new Class<?>[]{type},
+                    (proxy, method, args) -> {
+                        Object result = invoke(method, target, args);
+                        boolean productInsert = sql != null && sql.startsWith(INSERT_PRODUCT_SQL);
+                        if (productInsert && method.getName().equals("addBatch")) {
+                            pendingBatch.incrementAndGet();
+                        }
+                        if (productInsert && method.getName().equals("executeBatch")) {
+                            productInsertBatchSizes.add(pendingBatch.getAndSet(0));
+                        }
+                        if (result instanceof Connection connection && method.getReturnType() == Connection.class) {
+                            return proxy(Connection.class, connection, null);
+                        }
+                        if (result instanceof PreparedStatement statement && method.getReturnType() == PreparedStatement.class) {
+                            return proxy(PreparedStatement.class, statement, (String) args[0]);
+                        }
+                        return result;
+                    });
+        }
+
+        private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
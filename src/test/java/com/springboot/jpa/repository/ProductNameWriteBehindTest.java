@@ -0,0 +1,124 @@
+package com.springboot.jpa.repository;
+
+import com.springboot.jpa.data.entity.Product;
+import com.springboot.jpa.service.ProductSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+
+import static com.springboot.jpa.config.CacheConfiguration.PRODUCT_CACHE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 이름 변경이 합쳐져서(마지막 값만) 배치로 반영되는지, 그 사이 다른 변경이 커밋되면 버려지는지 확인
+ *  - flush는 JDBC로 바로 커밋되므로 테스트 트랜잭션을 끔
+ */
+@DataJpaTest
+@Import(ProductRepositoryImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ProductNameWriteBehindTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProductSnapshot productSnapshot;
+    private ProductNameWriteBehind productNameWriteBehind;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        //스케줄러는 시작하지 않고 flush를 직접 호출
+        productSnapshot = Mockito.mock(ProductSnapshot.class);
+        productNameWriteBehind = new ProductNameWriteBehind(new JdbcTemplate(dataSource),
+                new ConcurrentMapCacheManager(PRODUCT_CACHE), productSnapshot, meterRegistry, true, 2, 60_000);
+    }
+
+    @Test
+    void coalescesRenamesAndFlushesLastWrite() {
+        //given
+        Long pen = productRepository.insertProduct(Product.create("펜", 1000, 10)).getNumber();
+        Long note = productRepository.insertProduct(Product.create("노트", 2000, 10)).getNumber();
+
+        //when - 같은 상품 연속 변경
+        long penVersion = productRepository.selectProductVersion(pen);
+        productNameWriteBehind.offer(pen, "펜1", () -> productRepository.selectProductVersion(pen));
+        productNameWriteBehind.offer(pen, "펜2", () -> productRepository.selectProductVersion(pen));
+        productNameWriteBehind.offer(pen, "펜3", () -> productRepository.selectProductVersion(pen));
+        productNameWriteBehind.offer(note, "노트1", () -> productRepository.selectProductVersion(note));
+
+        //then - 반영 전에는 대기 중인 마지막 이름 조회 가능
+        assertEquals("펜3", productNameWriteBehind.pendingName(pen));
+        assertEquals(2.0, meterRegistry.get("product.write_behind.queue.depth").gauge().value());
+
+        assertEquals(2, productNameWriteBehind.flush());
+
+        assertNull(productNameWriteBehind.pendingName(pen));
+        assertEquals(0, productNameWriteBehind.pendingCount());
+        assertEquals("펜3", productRepository.selectProduct(pen).getName());
+        assertEquals("노트1", productRepository.selectProduct(note).getName());
+        assertEquals(1, meterRegistry.get("product.write_behind.flush").timer().count());
+        assertEquals(penVersion + 1, productRepository.selectProductVersion(pen));
+    }
+
+    @Test
+    void flushEvictsProductFromSnapshot() {
+        //given
+        Long pen = productRepository.insertProduct(Product.create("스냅샷펜", 1000, 10)).getNumber();
+        productNameWriteBehind.offer(pen, "스냅샷펜1", () -> productRepository.selectProductVersion(pen));
+
+        //when
+        productNameWriteBehind.flush();
+
+        //then - 대기 중인 이름이 없어진 뒤 스냅샷의 이전 이름이 보이지 않도록 제거 (기존 조회로 새 이름)
+        Mockito.verify(productSnapshot).evict(pen);
+    }
+
+    @Test
+    void renameAfterFlushUsesFlushedVersion() {
+        //given - 이전 변경이 반영된 뒤 같은 상품을 다시 변경
+        Long pen = productRepository.insertProduct(Product.create("연속펜", 1000, 10)).getNumber();
+        long version = productRepository.selectProductVersion(pen);
+        productNameWriteBehind.offer(pen, "연속펜1", () -> productRepository.selectProductVersion(pen));
+        assertEquals(1, productNameWriteBehind.flush());
+
+        //when
+        productNameWriteBehind.offer(pen, "연속펜2", () -> productRepository.selectProductVersion(pen));
+
+        //then - 반영된 version으로 등록되어 충돌 없이 반영
+        assertEquals(1, productNameWriteBehind.flush());
+        assertEquals("연속펜2", productRepository.selectProduct(pen).getName());
+        assertEquals(version + 2, productRepository.selectProductVersion(pen));
+        assertEquals(0.0, meterRegistry.get("product.write_behind.conflicts").counter().count());
+    }
+
+    @Test
+    void discardsRenameWhenVersionChanged() {
+        //given - 등록한 뒤 다른 경로(일반 수정)로 먼저 변경이 커밋됨
+        Long pen = productRepository.insertProduct(Product.create("충돌펜", 1000, 10)).getNumber();
+        productNameWriteBehind.offer(pen, "늦은이름", () -> productRepository.selectProductVersion(pen));
+        productRepository.updateProduct(pen, "먼저커밋");
+
+        //when
+        assertEquals(0, productNameWriteBehind.flush());
+
+        //then - 먼저 커밋된 변경을 덮어쓰지 않음
+        assertEquals("먼저커밋", productRepository.selectProduct(pen).getName());
+        assertEquals(0, productNameWriteBehind.pendingCount());
+        assertEquals(1.0, meterRegistry.get("product.write_behind.conflicts").counter().count());
+    }
+}
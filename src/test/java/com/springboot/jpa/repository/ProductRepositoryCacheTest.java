@@ -0,0 +1,107 @@
+package com.springboot.jpa.repository;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.springboot.jpa.config.CacheConfiguration;
+import com.springboot.jpa.data.dto.ProductResponseDto;
+import com.springboot.jpa.data.entity.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.cache.CacheType;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.annotation.Import;
+
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static com.springboot.jpa.config.CacheConfiguration.PRODUCT_CACHE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * selectProductResponse 캐시 적중 / update, delete, saveAndFlush, 벌크 연산 시 캐시 제거 확인
+ *  - @DataJpaTest는 기본으로 캐시를 끄므로(CacheType.NONE) Caffeine으로 다시 지정
+ */
+@DataJpaTest
+@AutoConfigureCache(cacheProvider = CacheType.CAFFEINE)
+@Import({ProductRepositoryImpl.class, CacheConfiguration.class})
+public class ProductRepositoryCacheTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private CaffeineCache productCache;
+
+    @BeforeEach
+    void setUp() {
+        productCache = (CaffeineCache) cacheManager.getCache(PRODUCT_CACHE);
+        productCache.clear();
+    }
+
+    @Test
+    void selectProductResponseIsCached() {
+        Product savedProduct = productRepository.saveAndFlushProduct(Product.create("펜", 1000, 10));
+        CacheStats before = productCache.getNativeCache().stats();
+
+        productRepository.selectProductResponse(savedProduct.getNumber());
+        productRepository.selectProductResponse(savedProduct.getNumber());
+
+        CacheStats stats = productCache.getNativeCache().stats().minus(before);
+        assertEquals(1, stats.missCount());
+        assertEquals(1, stats.hitCount());
+    }
+
+    @Test
+    void cachedProductCarriesUpdatedAt() {
+        //ETag/Last-Modified는 캐시된 본문과 같은 DTO의 updatedAt으로 만듦
+        Product savedProduct = productRepository.saveAndFlushProduct(Product.create("펜", 1000, 10));
+
+        productRepository.selectProductResponse(savedProduct.getNumber());
+
+        ProductResponseDto cachedProduct = (ProductResponseDto) productCache.get(savedProduct.getNumber()).get();
+        //DB 컬럼은 마이크로초 정밀도
+        assertEquals(savedProduct.getUpdatedAt().truncatedTo(ChronoUnit.MICROS),
+                cachedProduct.getUpdatedAt().truncatedTo(ChronoUnit.MICROS));
+    }
+
+    @Test
+    void updateEvictsCachedProduct() {
+        Product savedProduct = productRepository.saveAndFlushProduct(Product.create("펜", 1000, 10));
+        productRepository.selectProductResponse(savedProduct.getNumber());
+
+        productRepository.updateProduct(savedProduct.getNumber(), "연필");
+
+        assertNull(productCache.get(savedProduct.getNumber()));
+        assertEquals("연필", productRepository.selectProductResponse(savedProduct.getNumber()).getName());
+    }
+
+    @Test
+    void deleteAndSaveAndFlushEvictCachedProduct() {
+        Product savedProduct = productRepository.saveAndFlushProduct(Product.create("펜", 1000, 10));
+        productRepository.selectProductResponse(savedProduct.getNumber());
+
+        productRepository.saveAndFlushProduct(savedProduct);
+        assertNull(productCache.get(savedProduct.getNumber()));
+
+        productRepository.selectProductResponse(savedProduct.getNumber());
+        productRepository.deleteProduct(savedProduct.getNumber());
+        assertNull(productCache.get(savedProduct.getNumber()));
+    }
+
+    @Test
+    void bulkUpdateEvictsCachedProducts() {
+        Product savedProduct = productRepository.saveAndFlushProduct(Product.create("펜", 1000, 10));
+        productRepository.selectProductResponse(savedProduct.getNumber());
+
+        productRepository.updateProductNames(List.of(savedProduct.getNumber()), "연필");
+
+        assertNull(productCache.get(savedProduct.getNumber()));
+        assertEquals("연필", productRepository.selectProductResponse(savedProduct.getNumber()).getName());
+    }
+}
@@ -1,12 +1,20 @@
 package com.springboot.jpa.repository;
 
+import com.springboot.jpa.data.dto.ProductResponseDto;
 import com.springboot.jpa.data.entity.Product;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.Import;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * 📖@DataJpaTest
@@ -62,4 +70,136 @@ public class ProductRepositoryTestByH2 {
         assertEquals(product.getPrice(), foundProduct.getPrice());
         assertEquals(product.getStock(), foundProduct.getStock());
     }
+
+    @Test
+    void insertProductsTest() {
+        //given - 배치 크기(50)보다 많은 건수
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            products.add(Product.create("펜" + i, 1000 + i, 100));
+        }
+
+        //when
+        List<Product> savedProducts = productRepository.insertProducts(products);
+
+        //then
+        assertEquals(120, savedProducts.size());
+        savedProducts.forEach(product -> assertNotNull(product.getNumber()));
+
+        Product foundProduct = productRepository.selectProduct(savedProducts.get(119).getNumber());
+        assertEquals("펜119", foundProduct.getName());
+        assertEquals(1119, foundProduct.getPrice());
+    }
+
+    @Test
+    void selectProductsAfterTest() {
+        //given
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            products.add(Product.create("펜" + i, 1000, 100));
+        }
+        List<Product> savedProducts = productRepository.insertProducts(products);
+        Long first = savedProducts.get(0).getNumber();
+
+        //when - 첫 번째 상품 이후 2개
+        List<Product> page = productRepository.selectProductsAfter(first, 2);
+
+        //then
+        assertEquals(2, page.size());
+        assertEquals(savedProducts.get(1).getNumber(), page.get(0).getNumber());
+        assertEquals(savedProducts.get(2).getNumber(), page.get(1).getNumber());
+    }
+
+    @Test
+    void streamProductsTest() {
+        //given
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            products.add(Product.create("펜" + i, 1000, 100));
+        }
+        Long first = productRepository.insertProducts(products).get(0).getNumber();
+
+        //when - 다른 테스트에서 커밋한 데이터는 제외하고 확인
+        List<String> names = new ArrayList<>();
+        productRepository.streamProducts(product -> {
+            if (product.getNumber() >= first) {
+                names.add(product.getName());
+            }
+        });
+
+        //then
+        assertEquals(List.of("펜0", "펜1", "펜2"), names);
+    }
+
+    @Test
+    void searchProductsTest() {
+        //given
+        productRepository.insertProducts(List.of(
+                Product.create("펜", 1000, 10),
+                Product.create("펜슬", 2000, 0),
+                Product.create("필통", 1500, 10),
+                Product.create("100%_펜", 1500, 10)
+        ));
+
+        //when
+        List<ProductResponseDto> byName = productRepository.searchProducts("펜", null, null, false, 10);
+        List<ProductResponseDto> byNameInStock = productRepository.searchProducts("펜", null, null, true, 10);
+        List<ProductResponseDto> byPrice = productRepository.searchProducts(null, 1200, 2000, false, 10);
+        List<ProductResponseDto> escaped = productRepository.searchProducts("100%_", null, null, false, 10);
+
+        //then
+        assertEquals(List.of("펜", "펜슬"), byName.stream().map(ProductResponseDto::getName).toList());
+        assertEquals(List.of("펜"), byNameInStock.stream().map(ProductResponseDto::getName).toList());
+        assertEquals(List.of("펜슬", "필통", "100%_펜"), byPrice.stream().map(ProductResponseDto::getName).toList());
+        assertEquals(List.of("100%_펜"), escaped.stream().map(ProductResponseDto::getName).toList());
+    }
+
+    @Test
+    void updateAndDeleteProductsTest() {
+        //given - IN 목록 청크 크기(1000)보다 많은 건수
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            products.add(Product.create("펜" + i, 1000, 100));
+        }
+        List<Long> numbers = productRepository.insertProducts(products).stream().map(Product::getNumber).toList();
+        Product lastProduct = productRepository.selectProduct(numbers.get(2499));
+        Long version = lastProduct.getVersion();
+
+        //when
+        int updatedCount = productRepository.updateProductNames(numbers, "연필");
+
+        //then - 벌크 UPDATE도 version 증가
+        assertEquals(2500, updatedCount);
+        Product updatedProduct = productRepository.selectProduct(numbers.get(2499));
+        assertEquals("연필", updatedProduct.getName());
+        assertEquals(version + 1, updatedProduct.getVersion());
+
+        //when
+        int deletedCount = productRepository.deleteProducts(numbers);
+
+        //then
+        assertEquals(2500, deletedCount);
+        assertThrows(NoSuchElementException.class, () -> productRepository.selectProduct(numbers.get(0)));
+        assertThrows(NoSuchElementException.class, () -> productRepository.selectProduct(numbers.get(2499)));
+    }
+
+    @Test
+    void selectProductNumbersByNamePrefixTest() {
+        //given
+        List<Long> numbers = productRepository.insertProducts(List.of(
+                Product.create("벌크_펜", 1000, 10),
+                Product.create("벌크_펜슬", 2000, 10),
+                Product.create("벌크%펜", 1500, 10)
+        )).stream().map(Product::getNumber).toList();
+
+        //when - LIKE 특수문자는 일반 문자로 취급 ("벌크%펜"은 제외), number 순 keyset
+        List<Long> firstBatch = productRepository.selectProductNumbersByNamePrefix("벌크_펜", 0L, 1);
+        List<Long> secondBatch = productRepository.selectProductNumbersByNamePrefix("벌크_펜", firstBatch.get(0), 1);
+        List<Long> lastBatch = productRepository.selectProductNumbersByNamePrefix("벌크_펜", secondBatch.get(0), 1);
+
+        //then
+        assertEquals(List.of(numbers.get(0)), firstBatch);
+        assertEquals(List.of(numbers.get(1)), secondBatch);
+        assertTrue(lastBatch.isEmpty());
+    }
 }
@@ -0,0 +1,93 @@
+package com.springboot.jpa.repository;
+
+import com.springboot.jpa.data.entity.Product;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntConsumer;
+
+/**
+ * 데이터 크기(10k / 100k / 1M 건)별 검색 쿼리 지연시간 백분위수 (H2)
+ *  - 실행 : ./gradlew benchmark
+ *  - 크기를 늘려가며 같은 테이블에 누적으로 insert 후 측정
+ */
+@Tag("benchmark")
+@DataJpaTest(showSql = false)
+@Import(ProductRepositoryImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ProductSearchBenchmarkTest {
+
+    private static final int[] DATA_SIZES = {10_000, 100_000, 1_000_000};
+    private static final int INSERT_CHUNK = 10_000;
+    private static final int QUERIES = 300;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private final Random random = new Random(42);
+
+    @Test
+    void searchLatencyByDataSize() {
+        int inserted = 0;
+        for (int dataSize : DATA_SIZES) {
+            insertUpTo(inserted, dataSize);
+            inserted = dataSize;
+
+            report(dataSize, "name prefix", i ->
+                    productRepository.searchProducts(randomPrefix(), null, null, false, 20));
+            report(dataSize, "price range", i -> {
+                int minPrice = 1000 + random.nextInt(9000);
+                productRepository.searchProducts(null, minPrice, minPrice + 100, false, 20);
+            });
+            report(dataSize, "prefix+price+stock", i -> {
+                int minPrice = 1000 + random.nextInt(9000);
+                productRepository.searchProducts(randomPrefix(), minPrice, minPrice + 1000, true, 20);
+            });
+        }
+    }
+
+    private void insertUpTo(int from, int to) {
+        for (int offset = from; offset < to; offset += INSERT_CHUNK) {
+            List<Product> products = new ArrayList<>(INSERT_CHUNK);
+            for (int i = offset; i < Math.min(offset + INSERT_CHUNK, to); i++) {
+                //두 글자 prefix 676가지로 이름 분산
+                products.add(Product.create(randomPrefix() + "-" + i, 1000 + random.nextInt(9000), random.nextInt(5)));
+            }
+            productRepository.insertProducts(products);
+        }
+    }
+
+    private String randomPrefix() {
+        return "" + (char) ('a' + random.nextInt(26)) + (char) ('a' + random.nextInt(26));
+    }
+
+    private void report(int dataSize, String label, IntConsumer query) {
+        //워밍업
+        for (int i = 0; i < QUERIES / 3; i++) {
+            query.accept(i);
+        }
+        long[] latencies = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            long start = System.nanoTime();
+            query.accept(i);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        System.out.printf("[benchmark] rows=%,d %-20s p50=%.3fms p95=%.3fms p99=%.3fms%n", dataSize, label,
+                percentile(latencies, 50), percentile(latencies, 95), percentile(latencies, 99));
+    }
+
+    private double percentile(long[] sortedNanos, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,175 @@
+package com.springboot.jpa.service;
+
+import com.springboot.jpa.data.dto.ProductChangeDto;
+import com.springboot.jpa.data.dto.ProductChangePageDto;
+import com.springboot.jpa.data.entity.Product;
+import com.springboot.jpa.repository.ProductRepository;
+import com.springboot.jpa.repository.ProductRepositoryImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 상품 변경 피드 - 변경/삭제 순서, cursor 진행, long-poll
+ *  - lag 0 : 테스트 트랜잭션 안의 변경도 바로 응답에 포함
+ *  - 스케줄러, 전달 스레드는 띄우지 않고 poll을 직접 호출 (전달도 테스트 스레드에서 실행)
+ */
+@DataJpaTest
+@Import(ProductRepositoryImpl.class)
+public class ProductChangeServiceTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    private ProductChangeServiceImpl productChangeService;
+
+    @BeforeEach
+    void setUp() {
+        productChangeService = new ProductChangeServiceImpl(productRepository, new SimpleMeterRegistry(),
+                1000, Duration.ZERO, Duration.ofSeconds(15), Duration.ofSeconds(30), 100, Duration.ofDays(7), 4, Duration.ofSeconds(10));
+    }
+
+    @Test
+    void changesAndTombstonesInOrder() {
+        List<Long> numbers = insertProducts("피드A", "피드B", "피드C");
+        productRepository.updateProduct(numbers.get(1), "피드B변경");
+        testEntityManager.flush(); //flush 시점에 @PreUpdate로 updatedAt이 정해지므로 삭제보다 먼저
+        productRepository.deleteProduct(numbers.get(0));
+        testEntityManager.flush();
+
+        //작은 페이지로 끝까지 - 다른 테스트가 커밋한 상품은 제외하고 확인
+        List<ProductChangeDto> changes = changesOf(Set.copyOf(numbers), readAll(null, 2));
+
+        assertEquals(List.of(numbers.get(2), numbers.get(1), numbers.get(0)),
+                changes.stream().map(ProductChangeDto::getNumber).toList());
+        assertEquals("피드B변경", changes.get(1).getName());
+        assertFalse(changes.get(1).isDeleted());
+        assertTrue(changes.get(2).isDeleted());
+        assertNull(changes.get(2).getName());
+    }
+
+    @Test
+    void bulkDeletesRecordTombstones() {
+        List<Long> numbers = insertProducts("피드삭제1", "피드삭제2", "피드남김");
+        productRepository.deleteProducts(numbers.subList(0, 2));
+        productRepository.deleteProducts(List.of(numbers.get(2)));
+
+        List<ProductChangeDto> changes = changesOf(Set.copyOf(numbers), readAll(null, 100));
+
+        assertEquals(3, changes.size());
+        assertTrue(changes.stream().allMatch(ProductChangeDto::isDeleted));
+    }
+
+    @Test
+    void cursorAdvancesWithoutChanges() {
+        String cursor = drain();
+
+        ProductChangePageDto page = productChangeService.getChanges(cursor, 100);
+        assertTrue(page.getChanges().isEmpty());
+        assertFalse(page.isHasMore());
+
+        Long number = insertProducts("피드새상품").get(0);
+        ProductChangePageDto nextPage = productChangeService.getChanges(page.getNextCursor(), 100);
+        assertEquals(List.of(number), nextPage.getChanges().stream().map(ProductChangeDto::getNumber).toList());
+    }
+
+    @Test
+    void invalidAndExpiredCursor() {
+        assertThrows(IllegalArgumentException.class, () -> productChangeService.getChanges("잘못된값", 100));
+
+        String expiredCursor = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("2000-01-01T00:00,1".getBytes(StandardCharsets.UTF_8));
+        assertThrows(ProductChangeService.CursorExpiredException.class,
+                () -> productChangeService.getChanges(expiredCursor, 100));
+    }
+
+    @Test
+    void pagingThroughOldProductsDoesNotExpire() {
+        //보관 기간(7일)보다 오래전에 수정된 상품 - 처음부터 작은 페이지로 읽는 동안 cursor 위치는 30일 전
+        List<Long> numbers = insertProducts("피드오래된1", "피드오래된2", "피드오래된3");
+        testEntityManager.flush();
+        testEntityManager.getEntityManager()
+                .createNativeQuery("update product set updated_at = :updatedAt where number in (:numbers)")
+                .setParameter("updatedAt", LocalDateTime.now().minusDays(30))
+                .setParameter("numbers", numbers)
+                .executeUpdate();
+        testEntityManager.clear();
+
+        List<ProductChangeDto> changes = changesOf(Set.copyOf(numbers), readAll(null, 2));
+
+        assertEquals(numbers, changes.stream().map(ProductChangeDto::getNumber).toList());
+    }
+
+    @Test
+    void longPollCompletesWhenChangeArrives() {
+        List<ProductChangePageDto> received = new ArrayList<>();
+        productChangeService.awaitChanges(drain(), 100, Duration.ofSeconds(30), received::add, e -> { });
+
+        //변경이 없으면 대기
+        productChangeService.poll();
+        assertTrue(received.isEmpty());
+
+        Long number = insertProducts("피드대기").get(0);
+        productChangeService.poll();
+        productChangeService.poll(); //한 번만 응답
+
+        assertEquals(1, received.size());
+        assertEquals(number, received.get(0).getChanges().get(0).getNumber());
+    }
+
+    private List<Long> insertProducts(String... names) {
+        List<Product> products = new ArrayList<>();
+        for (String name : names) {
+            products.add(Product.create(name, 1000, 10));
+        }
+        return productRepository.insertProducts(products).stream().map(Product::getNumber).toList();
+    }
+
+    private List<ProductChangeDto> readAll(String since, int size) {
+        List<ProductChangeDto> changes = new ArrayList<>();
+        ProductChangePageDto page;
+        String cursor = since;
+        do {
+            page = productChangeService.getChanges(cursor, size);
+            changes.addAll(page.getChanges());
+            cursor = page.getNextCursor();
+        } while (page.isHasMore());
+        return changes;
+    }
+
+    //지금까지의 변경을 모두 읽은 cursor
+    private String drain() {
+        ProductChangePageDto page;
+        String cursor = null;
+        do {
+            page = productChangeService.getChanges(cursor, 1000);
+            cursor = page.getNextCursor();
+        } while (page.isHasMore());
+        return cursor;
+    }
+
+    private List<ProductChangeDto> changesOf(Set<Long> numbers, List<ProductChangeDto> changes) {
+        return changes.stream().filter(change -> numbers.contains(change.getNumber())).toList();
+    }
+}
@@ -0,0 +1,102 @@
+package com.springboot.jpa.service;
+
+import com.springboot.jpa.repository.ProductRepositoryImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 100만 건 덤프 중 힙 사용량이 일정한지 확인 (H2)
+ *  - 실행 : ./gradlew benchmark
+ *  - 8MB 쓸 때마다 GC 후 사용 중인 힙을 재서 덤프 전보다 얼마나 늘었는지(남아있는 객체) 확인
+ *  - LAZY_QUERY_EXECUTION : H2가 결과 전체를 먼저 만들지 않고 커서처럼 한 행씩 읽음 (MySQL의 useCursorFetch 역할)
+ */
+@Tag("benchmark")
+@DataJpaTest(showSql = false, properties = {
+        "spring.datasource.driverClassName=org.h2.Driver",
+        "spring.datasource.url=jdbc:h2:mem:export-heap;NON_KEYWORDS=USER;LAZY_QUERY_EXECUTION=TRUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ProductRepositoryImpl.class, ProductExportServiceImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ProductExportHeapTest {
+
+    private static final int ROWS = 1_000_000;
+    private static final long SAMPLE_BYTES = 8L * 1024 * 1024;
+    //100만 건을 메모리에 모으면 수백 MB -> 덤프 중 늘어난 힙이 이보다 작아야 함
+    private static final long MAX_HEAP_GROWTH = 64L * 1024 * 1024;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductExportService productExportService;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("truncate table product");
+    }
+
+    @Test
+    void exportKeepsHeapFlat() throws Exception {
+        jdbcTemplate.update("insert into product (number, name, price, stock, created_at, updated_at, version) "
+                + "select x, concat('상품', x), 1000, 100, localtimestamp, localtimestamp, 0 "
+                + "from system_range(1, " + ROWS + ")");
+        long baseline = usedHeapAfterGc();
+        HeapSamplingOutputStream outputStream = new HeapSamplingOutputStream();
+
+        long start = System.nanoTime();
+        long rowCount = productExportService.exportProducts(ProductExportService.NDJSON, outputStream);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        long growth = outputStream.maxUsedHeap - baseline;
+        System.out.printf("[benchmark] export %d rows, %d MB in %.1fs, heap growth max : %d MB%n",
+                rowCount, outputStream.bytes / (1024 * 1024), seconds, growth / (1024 * 1024));
+        assertEquals(ROWS, rowCount);
+        assertTrue(growth < MAX_HEAP_GROWTH, "heap growth : " + growth);
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    //쓴 바이트는 버리고 SAMPLE_BYTES마다 GC 후 사용 중인 힙 기록
+    private static class HeapSamplingOutputStream extends OutputStream {
+        private long bytes;
+        private long nextSample = SAMPLE_BYTES;
+        private long maxUsedHeap;
+
+        @Override
+        public void write(int b) {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) {
+            bytes += length;
+            if (bytes >= nextSample) {
+                nextSample += SAMPLE_BYTES;
+                maxUsedHeap = Math.max(maxUsedHeap, usedHeapAfterGc());
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.springboot.jpa.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springboot.jpa.data.entity.Product;
+import com.springboot.jpa.repository.ProductRepository;
+import com.springboot.jpa.repository.ProductRepositoryImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 상품 전체 덤프 형식 확인 (CSV 이스케이프, NDJSON 한 줄에 하나)
+ */
+@DataJpaTest
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ProductRepositoryImpl.class, ProductExportServiceImpl.class})
+public class ProductExportServiceTest {
+
+    @Autowired
+    private ProductExportService productExportService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void exportCsv() throws Exception {
+        List<Product> products = productRepository.insertProducts(List.of(
+                Product.create("펜", 1000, 10),
+                Product.create("검정 \"특가\", 펜", 1500, 0)
+        ));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        long rowCount = productExportService.exportProducts(ProductExportService.CSV, outputStream);
+
+        List<String> lines = outputStream.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, rowCount);
+        assertEquals("number,name,price,stock,updatedAt", lines.get(0));
+        assertTrue(lines.get(1).startsWith(products.get(0).getNumber() + ",펜,1000,10,"));
+        assertTrue(lines.get(2).startsWith(products.get(1).getNumber() + ",\"검정 \"\"특가\"\", 펜\",1500,0,"));
+    }
+
+    @Test
+    void exportNdjson() throws Exception {
+        List<Product> products = productRepository.insertProducts(List.of(
+                Product.create("펜", 1000, 10),
+                Product.create("연필", 500, 20)
+        ));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        long rowCount = productExportService.exportProducts(ProductExportService.NDJSON, outputStream);
+
+        List<String> lines = outputStream.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, rowCount);
+        assertEquals(2, lines.size());
+        JsonNode second = objectMapper.readTree(lines.get(1));
+        assertEquals(products.get(1).getNumber(), second.get("number").asLong());
+        assertEquals("연필", second.get("name").asText());
+        assertEquals(20, second.get("stock").asInt());
+        assertTrue(second.hasNonNull("updatedAt"));
+    }
+}
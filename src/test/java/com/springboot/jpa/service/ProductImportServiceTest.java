@@ -0,0 +1,153 @@
+package com.springboot.jpa.service;
+
+import com.springboot.jpa.data.dto.ProductImportJobDto;
+import com.springboot.jpa.data.dto.ProductResponseDto;
+import com.springboot.jpa.data.entity.ProductImportJob;
+import com.springboot.jpa.repository.ProductImportWriter;
+import com.springboot.jpa.repository.ProductRepository;
+import com.springboot.jpa.repository.ProductRepositoryImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 상품 파일 import - 파싱/검증, 청크 커밋, 실패 후 이어서 처리
+ *  - 청크마다 커밋되는지 확인하기 위해 테스트 트랜잭션을 끔 (NOT_SUPPORTED)
+ */
+@DataJpaTest(properties = "springboot.product.import.chunk-size=10")
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ProductRepositoryImpl.class, ProductImportWriter.class, ProductImportServiceImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ProductImportServiceTest {
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void importCsv() {
+        String csv = """
+                name,price,stock
+                csv연필,1000,10
+                "csv펜, 검정",1500,20
+                "csv""특가"" 노트",2000,0
+
+                csv지우개,abc,10
+                ,1000,10
+                """;
+
+        ProductImportJobDto job = productImportService.importProducts(toStream(csv), ProductImportService.CSV, null);
+
+        assertEquals(ProductImportJob.COMPLETED, job.getStatus());
+        assertEquals(6, job.getCommittedLines()); //헤더 제외, 빈 줄 포함
+        assertEquals(3, job.getImportedCount());
+        assertEquals(2, job.getRejectedCount());
+        assertTrue(job.getErrors().get(0).startsWith("5번째 줄"));
+        assertEquals(List.of("csv\"특가\" 노트", "csv연필", "csv펜, 검정"), namesStartingWith("csv"));
+    }
+
+    @Test
+    void importNdjson() {
+        String ndjson = """
+                {"name":"ndjson연필","price":1000,"stock":10}
+                {"name":"ndjson펜","price":-1,"stock":10}
+                {"name":"ndjson노트",
+                null
+                [1,2]
+                """;
+
+        ProductImportJobDto job = productImportService.importProducts(toStream(ndjson), ProductImportService.NDJSON, null);
+
+        assertEquals(ProductImportJob.COMPLETED, job.getStatus());
+        assertEquals(1, job.getImportedCount());
+        //객체가 아닌 줄(null, 배열)도 그 줄만 거부하고 계속 처리
+        assertEquals(4, job.getRejectedCount());
+        assertTrue(job.getErrors().get(2).startsWith("4번째 줄"));
+        assertEquals(List.of("ndjson연필"), namesStartingWith("ndjson"));
+    }
+
+    @Test
+    void resumeFromLastCommittedChunk() {
+        StringBuilder csv = new StringBuilder("name,price,stock\n");
+        for (int i = 0; i < 250; i++) {
+            csv.append("재시작상품").append(i).append(",1000,10\n");
+        }
+        byte[] bytes = csv.toString().getBytes(StandardCharsets.UTF_8);
+
+        //중간에 연결이 끊긴 업로드
+        ProductImportJobDto failedJob = productImportService.importProducts(
+                new FailingInputStream(bytes, bytes.length / 2), ProductImportService.CSV, null);
+
+        assertEquals(ProductImportJob.FAILED, failedJob.getStatus());
+        assertTrue(failedJob.getCommittedLines() > 0 && failedJob.getCommittedLines() < 250);
+        assertEquals(0, failedJob.getCommittedLines() % 10); //청크 단위로만 커밋
+        assertEquals(failedJob.getCommittedLines(), namesStartingWith("재시작상품").size());
+
+        //같은 파일을 다시 올리면 커밋된 줄 다음부터 처리 -> 중복 없이 전체 반영
+        ProductImportJobDto resumedJob = productImportService.importProducts(
+                new ByteArrayInputStream(bytes), ProductImportService.CSV, failedJob.getId());
+
+        assertEquals(ProductImportJob.COMPLETED, resumedJob.getStatus());
+        assertEquals(250, resumedJob.getCommittedLines());
+        assertEquals(250, resumedJob.getImportedCount());
+        assertEquals(250, namesStartingWith("재시작상품").size());
+    }
+
+    private InputStream toStream(String value) {
+        return new ByteArrayInputStream(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<String> namesStartingWith(String prefix) {
+        return productRepository.searchProducts(prefix, null, null, false, 1000).stream()
+                .map(ProductResponseDto::getName)
+                .sorted()
+                .toList();
+    }
+
+    //limit 바이트까지 읽은 뒤 IOException
+    private static class FailingInputStream extends InputStream {
+        private final byte[] bytes;
+        private final int limit;
+        private int position;
+
+        FailingInputStream(byte[] bytes, int limit) {
+            this.bytes = bytes;
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (position >= limit) {
+                throw new IOException("connection reset");
+            }
+            return bytes[position++] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (position >= limit) {
+                throw new IOException("connection reset");
+            }
+            int count = Math.min(length, limit - position);
+            System.arraycopy(bytes, position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+    }
+}
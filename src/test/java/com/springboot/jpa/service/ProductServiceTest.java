@@ -1,19 +1,28 @@
 package com.springboot.jpa.service;
 
 import com.springboot.jpa.data.dto.ProductDto;
+import com.springboot.jpa.data.dto.ProductPageResponseDto;
 import com.springboot.jpa.data.dto.ProductResponseDto;
 import com.springboot.jpa.data.entity.Product;
+import com.springboot.jpa.dto.ProductBatchDto;
+import com.springboot.jpa.repository.ProductNameWriteBehind;
 import com.springboot.jpa.repository.ProductRepository;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 
 import java.lang.reflect.Field;
+import java.util.List;
+import java.util.stream.LongStream;
 
 import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.verify;
 
 /**
@@ -22,11 +31,13 @@ import static org.mockito.Mockito.verify;
 public class ProductServiceTest {
 
     private ProductRepository productRepository = Mockito.mock(ProductRepository.class);
+    private ProductNameWriteBehind productNameWriteBehind = Mockito.mock(ProductNameWriteBehind.class);
+    private ProductSnapshot productSnapshot = Mockito.mock(ProductSnapshot.class);
     private ProductServiceImpl productService;
 
     @BeforeEach
     public void setupTest() {
-        productService = new ProductServiceImpl(productRepository);
+        productService = new ProductServiceImpl(productRepository, productNameWriteBehind, productSnapshot);
     }
 
     /**
@@ -44,8 +55,8 @@ public class ProductServiceTest {
         numberField.set(givenProduct, 123L);
 
         //123L로 조회할 때, givenProduct를 반환하도록 동작 정의
-        Mockito.when(productRepository.selectProduct(123L))
-                .thenReturn(givenProduct);
+        Mockito.when(productRepository.selectProductResponse(123L))
+                .thenReturn(ProductResponseDto.from(givenProduct));
 
 
         ProductResponseDto productResponseDto = productService.getProduct(123L);
@@ -57,7 +68,7 @@ public class ProductServiceTest {
         Assertions.assertEquals(productResponseDto.getStock(), givenProduct.getStock());
 
         //검증 보완
-        verify(productRepository).selectProduct(123L);
+        verify(productRepository).selectProductResponse(123L);
 
     }
 
@@ -86,4 +97,93 @@ public class ProductServiceTest {
             verify(productRepository).insertProduct(any());
     }
 
+
+    @Test
+    @DisplayName("Product 목록 조회 cursor 테스트")
+    void getProductsTest() throws Exception {
+        Product givenProduct = Product.create("펜", 1000, 1234);
+        Field numberField = Product.class.getDeclaredField("number");
+        numberField.setAccessible(true);
+        numberField.set(givenProduct, 123L);
+
+        Mockito.when(productRepository.selectProductsAfter(anyLong(), anyInt()))
+                .thenReturn(List.of(givenProduct));
+
+        //첫 페이지 (cursor 없음) - 꽉 찬 페이지이므로 다음 cursor 존재
+        ProductPageResponseDto firstPage = productService.getProducts(null, 1);
+        Assertions.assertEquals(1, firstPage.getProducts().size());
+        Assertions.assertNotNull(firstPage.getNextCursor());
+        verify(productRepository).selectProductsAfter(0L, 1);
+
+        //다음 cursor로 조회하면 마지막 number 이후부터 조회
+        productService.getProducts(firstPage.getNextCursor(), 1);
+        verify(productRepository).selectProductsAfter(123L, 1);
+    }
+
+    @Test
+    @DisplayName("Product 벌크 삭제 테스트")
+    void deleteProductsTest() {
+        ProductBatchDto productBatchDto = new ProductBatchDto();
+        productBatchDto.setNumbers(List.of(1L, 2L, 2L));
+        Mockito.when(productRepository.deleteProducts(List.of(1L, 2L))).thenReturn(2);
+
+        Assertions.assertEquals(2, productService.deleteProducts(productBatchDto));
+
+        //write-behind에 쌓인 이름 변경을 먼저 반영한 뒤 삭제 (중복 번호는 제거)
+        InOrder inOrder = Mockito.inOrder(productNameWriteBehind, productRepository);
+        inOrder.verify(productNameWriteBehind).flush();
+        inOrder.verify(productRepository).deleteProducts(List.of(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("Product 벌크 삭제 최대 개수 테스트")
+    void deleteProductsLimitTest() {
+        ProductBatchDto productBatchDto = new ProductBatchDto();
+        productBatchDto.setNumbers(LongStream.rangeClosed(1, ProductServiceImpl.MAX_BATCH_NUMBERS + 1).boxed().toList());
+
+        //한 트랜잭션이 너무 길어지지 않도록 거부
+        Assertions.assertThrows(IllegalArgumentException.class, () -> productService.deleteProducts(productBatchDto));
+        verify(productRepository, Mockito.never()).deleteProducts(Mockito.anyList());
+    }
+
+    @Test
+    @DisplayName("Product namePrefix 벌크 삭제 배치 테스트")
+    void deleteProductsByNamePrefixInBatchesTest() {
+        ProductBatchDto productBatchDto = new ProductBatchDto();
+        productBatchDto.setNamePrefix("펜");
+        List<Long> firstBatch = LongStream.rangeClosed(1, ProductServiceImpl.NAME_PREFIX_BATCH_SIZE).boxed().toList();
+        long lastNumber = ProductServiceImpl.NAME_PREFIX_BATCH_SIZE;
+        Mockito.when(productRepository.selectProductNumbersByNamePrefix("펜", 0L, ProductServiceImpl.NAME_PREFIX_BATCH_SIZE))
+                .thenReturn(firstBatch);
+        Mockito.when(productRepository.selectProductNumbersByNamePrefix("펜", lastNumber, ProductServiceImpl.NAME_PREFIX_BATCH_SIZE))
+                .thenReturn(List.of(lastNumber + 1));
+        Mockito.when(productRepository.deleteProducts(Mockito.anyList())).thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).size());
+
+        //대상 번호를 keyset으로 나눠서 배치마다 삭제 (배치마다 별도 트랜잭션)
+        Assertions.assertEquals(ProductServiceImpl.NAME_PREFIX_BATCH_SIZE + 1, productService.deleteProducts(productBatchDto));
+        verify(productRepository).deleteProducts(firstBatch);
+        verify(productRepository).deleteProducts(List.of(lastNumber + 1));
+        verify(productSnapshot).evict(lastNumber + 1);
+    }
+
+    @Test
+    @DisplayName("Product 벌크 이름 변경 조건 검증 테스트")
+    void changeProductNamesValidationTest() {
+        ProductBatchDto noCondition = new ProductBatchDto();
+        noCondition.setName("연필");
+        ProductBatchDto bothConditions = new ProductBatchDto();
+        bothConditions.setNumbers(List.of(1L));
+        bothConditions.setNamePrefix("펜");
+        bothConditions.setName("연필");
+        ProductBatchDto noName = new ProductBatchDto();
+        noName.setNamePrefix("펜");
+
+        //조건이 없거나 둘 다 있으면 전체 상품이 바뀔 수 있으므로 거부
+        Assertions.assertThrows(IllegalArgumentException.class, () -> productService.changeProductNames(noCondition));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> productService.changeProductNames(bothConditions));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> productService.changeProductNames(noName));
+        verify(productRepository, Mockito.never()).updateProductNames(Mockito.anyList(), anyString());
+        verify(productRepository, Mockito.never()).selectProductNumbersByNamePrefix(anyString(), anyLong(), anyInt());
+    }
+
 }
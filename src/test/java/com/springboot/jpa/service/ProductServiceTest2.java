@@ -4,6 +4,7 @@ package com.springboot.jpa.service;
 import com.springboot.jpa.data.dto.ProductDto;
 import com.springboot.jpa.data.dto.ProductResponseDto;
 import com.springboot.jpa.data.entity.Product;
+import com.springboot.jpa.repository.ProductNameWriteBehind;
 import com.springboot.jpa.repository.ProductRepository;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -31,8 +32,10 @@ public class ProductServiceTest2 {
     @TestConfiguration
     static class TestConfig {
         @Bean
-        public ProductService productService(ProductRepository productRepository) {
-            return new ProductServiceImpl(productRepository);
+        public ProductService productService(ProductRepository productRepository,
+                                             ProductNameWriteBehind productNameWriteBehind,
+                                             ProductSnapshot productSnapshot) {
+            return new ProductServiceImpl(productRepository, productNameWriteBehind, productSnapshot);
         }
     }
 
@@ -40,12 +43,18 @@ public class ProductServiceTest2 {
     @MockitoBean
     ProductRepository productRepository;
 
+    @MockitoBean
+    ProductNameWriteBehind productNameWriteBehind;
+
+    @MockitoBean
+    ProductSnapshot productSnapshot;
+
     @Autowired
     ProductService productService;
 
     @BeforeEach
     public void setupTest() {
-        productService = new ProductServiceImpl(productRepository);
+        productService = new ProductServiceImpl(productRepository, productNameWriteBehind, productSnapshot);
     }
 
     /**
@@ -63,8 +72,8 @@ public class ProductServiceTest2 {
         numberField.set(givenProduct, 123L);
 
         //123L로 조회할 때, givenProduct를 반환하도록 동작 정의
-        Mockito.when(productRepository.selectProduct(123L))
-                .thenReturn(givenProduct);
+        Mockito.when(productRepository.selectProductResponse(123L))
+                .thenReturn(ProductResponseDto.from(givenProduct));
 
 
         ProductResponseDto productResponseDto = productService.getProduct(123L);
@@ -76,7 +85,7 @@ public class ProductServiceTest2 {
         Assertions.assertEquals(productResponseDto.getStock(), givenProduct.getStock());
 
         //검증 보완
-        verify(productRepository).selectProduct(123L);
+        verify(productRepository).selectProductResponse(123L);
 
     }
 
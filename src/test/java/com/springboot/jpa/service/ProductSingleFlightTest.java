@@ -0,0 +1,136 @@
+package com.springboot.jpa.service;
+
+import com.springboot.jpa.data.dto.ProductResponseDto;
+import com.springboot.jpa.data.entity.Product;
+import com.springboot.jpa.repository.ProductNameWriteBehind;
+import com.springboot.jpa.repository.ProductRepository;
+import com.springboot.jpa.repository.ProductRepositoryImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 같은 상품을 동시에 조회하면 DB 쿼리가 한 번만 실행되는지 확인 (Hibernate Statistics로 실제 실행된 쿼리 수 집계)
+ *  - @DataJpaTest는 캐시를 끄므로(CacheType.NONE) 합쳐지지 않으면 호출마다 쿼리가 실행됨
+ *  - 조회가 겹치도록 리포지토리 호출 앞에 지연을 넣음
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(ProductRepositoryImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ProductSingleFlightTest {
+
+    private static final int THREADS = 32;
+    private static final long LOAD_DELAY_MS = 200;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private ProductServiceImpl productService;
+    private Statistics statistics;
+    private Long number;
+
+    @BeforeEach
+    void setUp() {
+        productService = new ProductServiceImpl(slow(productRepository), Mockito.mock(ProductNameWriteBehind.class),
+                Mockito.mock(ProductSnapshot.class));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        number = productRepository.insertProduct(Product.create("인기상품", 1000, 100)).getNumber();
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteProduct(number);
+    }
+
+    @Test
+    void concurrentReadsOfSameProductIssueOneQuery() throws Exception {
+        statistics.clear();
+
+        List<ProductResponseDto> results = getConcurrently(number);
+
+        assertEquals(THREADS, results.size());
+        results.forEach(result -> assertEquals("인기상품", result.getName()));
+        assertEquals(1, statistics.getQueryExecutionCount());
+    }
+
+    @Test
+    void sequentialReadsAreNotMerged() {
+        statistics.clear();
+
+        productService.getProduct(number);
+        productService.getProduct(number);
+
+        assertEquals(2, statistics.getQueryExecutionCount());
+    }
+
+    @Test
+    void missingProductErrorIsSharedAndNotRetained() {
+        assertThrows(NoSuchElementException.class, () -> productService.getProduct(-1L));
+        //실패한 조회는 남지 않으므로 다음 조회는 새로 실행됨
+        assertEquals("인기상품", productService.getProduct(number).getName());
+    }
+
+    private List<ProductResponseDto> getConcurrently(Long number) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<ProductResponseDto>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return productService.getProduct(number);
+                }));
+            }
+            start.countDown();
+
+            List<ProductResponseDto> results = new ArrayList<>();
+            for (Future<ProductResponseDto> future : futures) {
+                results.add(future.get(10, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    //selectProductResponse 앞에 지연을 넣은 리포지토리 (동시 조회가 확실히 겹치도록)
+    private ProductRepository slow(ProductRepository target) {
+        return (ProductRepository) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ProductRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("selectProductResponse")) {
+                        Thread.sleep(LOAD_DELAY_MS);
+                    }
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
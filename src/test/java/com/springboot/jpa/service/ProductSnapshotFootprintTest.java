@@ -0,0 +1,90 @@
+package com.springboot.jpa.service;
+
+import com.springboot.jpa.data.entity.Product;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 상품 100만 건을 들고 있을 때 힙 사용량, full GC 시간 비교
+ *  - HashMap&lt;Long, Product&gt; : 상품마다 Long, HashMap.Node, Product, String, byte[] 등 객체 여러 개
+ *  - ProductSnapshotStore     : 힙에는 배열 두 개, 레코드는 off-heap
+ *  - 실행 : ./gradlew benchmark (조회 속도는 JMH ProductSnapshotStoreBenchmark)
+ */
+@Tag("benchmark")
+public class ProductSnapshotFootprintTest {
+
+    private static final int PRODUCTS = 1_000_000;
+
+    @Test
+    void compareHeapAndGc() throws Exception {
+        long baseHeap = usedHeapAfterGc();
+
+        Map<Long, Product> productMap = hashMap();
+        long hashMapHeap = usedHeapAfterGc() - baseHeap;
+        long hashMapGcMillis = fullGcMillis();
+        System.out.printf("[benchmark] hashmap  : heap %dMB, full GC %dms%n",
+                hashMapHeap / 1024 / 1024, hashMapGcMillis);
+        productMap.clear();
+        productMap = null;
+        baseHeap = usedHeapAfterGc();
+
+        ProductSnapshotStore store = snapshotStore();
+        long snapshotHeap = usedHeapAfterGc() - baseHeap;
+        long snapshotGcMillis = fullGcMillis();
+        System.out.printf("[benchmark] snapshot : heap %dMB, off-heap %dMB, full GC %dms%n",
+                snapshotHeap / 1024 / 1024, store.offHeapBytes() / 1024 / 1024, snapshotGcMillis);
+
+        assertEquals(PRODUCTS, store.size());
+        assertTrue(snapshotHeap < hashMapHeap / 4);
+    }
+
+    private Map<Long, Product> hashMap() throws Exception {
+        Field numberField = Product.class.getDeclaredField("number");
+        numberField.setAccessible(true);
+        Map<Long, Product> productMap = new HashMap<>(PRODUCTS * 2);
+        for (long number = 1; number <= PRODUCTS; number++) {
+            Product product = Product.create("상품" + number, 1000, 100);
+            numberField.set(product, number);
+            productMap.put(number, product);
+        }
+        return productMap;
+    }
+
+    private ProductSnapshotStore snapshotStore() {
+        ProductSnapshotStore store = new ProductSnapshotStore(PRODUCTS);
+        for (long number = 1; number <= PRODUCTS; number++) {
+            store.put(number, "상품" + number, 1000, 100, null);
+        }
+        return store;
+    }
+
+    private long usedHeapAfterGc() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    //살아있는 객체를 모두 훑는 full GC 3번 평균 (GC MXBean 누적 시간 차이)
+    private long fullGcMillis() {
+        long before = totalGcMillis();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return (totalGcMillis() - before) / 3;
+    }
+
+    private long totalGcMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+                .sum();
+    }
+}
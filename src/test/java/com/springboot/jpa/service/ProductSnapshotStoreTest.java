@@ -0,0 +1,90 @@
+package com.springboot.jpa.service;
+
+import com.springboot.jpa.data.dto.ProductResponseDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProductSnapshotStoreTest {
+
+    @Test
+    void putGetAndOverwrite() {
+        ProductSnapshotStore store = new ProductSnapshotStore(4);
+
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 1, 1, 12, 0, 0, 123_456_789);
+        store.put(1L, "펜", 1000, 10, LocalDateTime.of(2024, 1, 1, 0, 0));
+        store.put(2L, "연필", 500, 0, null);
+        store.put(1L, "검정 펜", 1200, 9, updatedAt);
+
+        ProductResponseDto product = store.get(1L);
+        assertEquals("검정 펜", product.getName());
+        assertEquals(1200, product.getPrice());
+        assertEquals(9, product.getStock());
+        //마이크로초까지 저장 (DB 컬럼 정밀도)
+        assertEquals(LocalDateTime.of(2025, 1, 1, 12, 0, 0, 123_456_000), product.getUpdatedAt());
+        assertEquals("연필", store.get(2L).getName());
+        assertNull(store.get(2L).getUpdatedAt());
+        assertNull(store.get(3L));
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    void removeKeepsOtherKeysReachable() {
+        //작은 테이블에 많이 넣어서 탐사가 이어지는(충돌) 경우와 resize를 함께 확인
+        ProductSnapshotStore store = new ProductSnapshotStore(1);
+        for (long number = 1; number <= 10_000; number++) {
+            store.put(number, "상품" + number, (int) number, 1, null);
+        }
+        for (long number = 1; number <= 10_000; number += 2) {
+            assertTrue(store.remove(number));
+        }
+
+        assertFalse(store.remove(1L));
+        assertEquals(5_000, store.size());
+        for (long number = 1; number <= 10_000; number++) {
+            ProductResponseDto product = store.get(number);
+            if (number % 2 == 1) {
+                assertNull(product);
+            } else {
+                assertEquals("상품" + number, product.getName());
+            }
+        }
+    }
+
+    @Test
+    void matchesHashMapAfterRandomOperations() {
+        //덮어쓰기가 반복되면 버려진 레코드가 쌓여서 압축도 일어남
+        ProductSnapshotStore store = new ProductSnapshotStore(16);
+        Map<Long, String> expected = new HashMap<>();
+        Random random = new Random(42);
+        String longName = "상품".repeat(100);
+
+        for (int i = 0; i < 200_000; i++) {
+            long number = 1 + random.nextInt(5_000);
+            if (random.nextInt(4) == 0) {
+                store.remove(number);
+                expected.remove(number);
+            } else {
+                String name = longName + i;
+                store.put(number, name, i, i, null);
+                expected.put(number, name);
+            }
+        }
+
+        assertEquals(expected.size(), store.size());
+        for (long number = 1; number <= 5_000; number++) {
+            ProductResponseDto product = store.get(number);
+            assertEquals(expected.get(number), product == null ? null : product.getName());
+        }
+        //압축되지 않았다면 20만 건 x 600바이트 이상
+        assertTrue(store.offHeapBytes() < 64L * 1024 * 1024);
+    }
+}
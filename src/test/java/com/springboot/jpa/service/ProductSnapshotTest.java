@@ -0,0 +1,84 @@
+package com.springboot.jpa.service;
+
+import com.springboot.jpa.data.entity.Product;
+import com.springboot.jpa.repository.ProductRepository;
+import com.springboot.jpa.repository.ProductRepositoryImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 상품 스냅샷 전체 적재 / 변경분 반영 / 삭제 반영
+ *  - 스케줄러는 띄우지 않고(enabled=false) rebuild, refresh를 직접 호출
+ */
+@DataJpaTest
+@Import(ProductRepositoryImpl.class)
+public class ProductSnapshotTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private ProductSnapshot productSnapshot;
+
+    @BeforeEach
+    void setUp() {
+        productSnapshot = new ProductSnapshot(productRepository, new SimpleMeterRegistry(),
+                false, 1000, 600_000, Duration.ofSeconds(5));
+    }
+
+    @Test
+    void rebuildAndRefresh() {
+        List<Product> products = productRepository.insertProducts(List.of(
+                Product.create("펜", 1000, 10),
+                Product.create("연필", 500, 20)
+        ));
+        Long penNumber = products.get(0).getNumber();
+
+        //적재 전에는 없음 -> 기존 조회로 처리
+        assertNull(productSnapshot.get(penNumber));
+
+        productSnapshot.rebuild();
+        assertEquals("펜", productSnapshot.get(penNumber).getName());
+        assertEquals(20, productSnapshot.get(products.get(1).getNumber()).getStock());
+
+        //변경, 추가된 상품은 refresh로 반영
+        Product changedPen = productRepository.updateProduct(penNumber, "검정 펜");
+        Long notebookNumber = productRepository.insertProducts(List.of(Product.create("노트", 2000, 5))).get(0).getNumber();
+        productSnapshot.refresh();
+
+        assertEquals("검정 펜", productSnapshot.get(penNumber).getName());
+        //검증값(ETag)도 본문과 같은 레코드에서 (마이크로초까지)
+        assertEquals(changedPen.getUpdatedAt().truncatedTo(ChronoUnit.MICROS), productSnapshot.get(penNumber).getUpdatedAt());
+        assertEquals("노트", productSnapshot.get(notebookNumber).getName());
+    }
+
+    @Test
+    void evictAndRefreshRemoveDeletedProducts() {
+        List<Long> numbers = productRepository.insertProducts(List.of(
+                Product.create("펜", 1000, 10),
+                Product.create("연필", 500, 20)
+        )).stream().map(Product::getNumber).toList();
+        productSnapshot.rebuild();
+
+        //이 서버의 삭제는 바로 제거
+        productRepository.deleteProduct(numbers.get(0));
+        productSnapshot.evict(numbers.get(0));
+        assertNull(productSnapshot.get(numbers.get(0)));
+
+        //다른 서버의 삭제(스냅샷에는 그대로)는 tombstone으로 refresh 때 제거
+        productRepository.deleteProducts(List.of(numbers.get(1)));
+        assertEquals("연필", productSnapshot.get(numbers.get(1)).getName());
+        productSnapshot.refresh();
+        assertNull(productSnapshot.get(numbers.get(1)));
+    }
+}
@@ -0,0 +1,85 @@
+package com.springboot.jpa.service;
+
+import com.springboot.jpa.data.entity.Product;
+import com.springboot.jpa.repository.ProductNameWriteBehind;
+import com.springboot.jpa.repository.ProductRepository;
+import com.springboot.jpa.repository.ProductRepositoryImpl;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 동시 호출자 수(16 / 64 / 256)별 재고 차감 처리량 (H2)
+ *  - 실행 : ./gradlew benchmark
+ *  - 재고가 떨어질 때까지 모든 스레드가 1개씩 차감, 초과 판매가 없는지도 같이 확인
+ */
+@Tag("benchmark")
+@DataJpaTest(showSql = false)
+@Import(ProductRepositoryImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ProductStockReservationBenchmarkTest {
+
+    private static final int[] CALLERS = {16, 64, 256};
+    private static final int STOCK = 20_000;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void reservationsPerSecond() throws Exception {
+        ProductServiceImpl productService = new ProductServiceImpl(productRepository, Mockito.mock(ProductNameWriteBehind.class),
+                Mockito.mock(ProductSnapshot.class));
+
+        for (int callers : CALLERS) {
+            Long number = productRepository.insertProduct(Product.create("한정판", 1000, STOCK)).getNumber();
+            AtomicInteger reserved = new AtomicInteger();
+            AtomicInteger failed = new AtomicInteger(); //재시도 후에도 충돌로 실패한 호출
+            CountDownLatch start = new CountDownLatch(1);
+            ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+            for (int i = 0; i < callers; i++) {
+                executor.submit(() -> {
+                    start.await();
+                    while (true) {
+                        try {
+                            if (!productService.reserveStock(number, 1)) {
+                                return null; //재고 소진
+                            }
+                            reserved.incrementAndGet();
+                        } catch (RuntimeException e) {
+                            failed.incrementAndGet();
+                        }
+                    }
+                });
+            }
+
+            long startNanos = System.nanoTime();
+            start.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.MINUTES));
+            double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+
+            int remaining = productRepository.selectProduct(number).getStock();
+            System.out.printf("[benchmark] callers=%d reserved=%d failed=%d remaining=%d -> %.0f reservations/s%n",
+                    callers, reserved.get(), failed.get(), remaining, reserved.get() / seconds);
+
+            //초과 판매 없음 : 성공 건수 + 남은 재고 = 초기 재고
+            assertEquals(STOCK, reserved.get() + remaining);
+            assertEquals(0, remaining);
+        }
+    }
+}
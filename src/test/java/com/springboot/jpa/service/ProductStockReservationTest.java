@@ -0,0 +1,86 @@
+package com.springboot.jpa.service;
+
+import com.springboot.jpa.data.entity.Product;
+import com.springboot.jpa.repository.ProductNameWriteBehind;
+import com.springboot.jpa.repository.ProductRepository;
+import com.springboot.jpa.repository.ProductRepositoryImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 여러 스레드가 동시에 재고를 차감해도 초과 판매(overselling)가 없는지 확인
+ *  - 스레드마다 별도 트랜잭션으로 커밋되어야 하므로 테스트 트랜잭션을 끔
+ */
+@DataJpaTest
+@Import(ProductRepositoryImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ProductStockReservationTest {
+
+    private static final int INITIAL_STOCK = 100;
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 10;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private ProductServiceImpl productService;
+
+    @BeforeEach
+    void setUp() {
+        productService = new ProductServiceImpl(productRepository, Mockito.mock(ProductNameWriteBehind.class),
+                Mockito.mock(ProductSnapshot.class));
+    }
+
+    @Test
+    void concurrentReservationsNeverOversell() throws Exception {
+        //given - 재고 100, 요청 16 x 10 = 160건
+        Long number = productRepository.insertProduct(Product.create("한정판", 1000, INITIAL_STOCK)).getNumber();
+        AtomicInteger reserved = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        //when
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < ATTEMPTS_PER_THREAD; j++) {
+                    if (productService.reserveStock(number, 1)) {
+                        reserved.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(); //스레드에서 예외가 났으면 여기서 실패
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        //then - 정확히 초기 재고만큼만 성공, 재고는 0
+        assertEquals(INITIAL_STOCK, reserved.get());
+        assertEquals(0, productRepository.selectProduct(number).getStock());
+        assertFalse(productService.reserveStock(number, 1));
+    }
+}
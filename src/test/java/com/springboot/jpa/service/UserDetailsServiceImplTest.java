@@ -0,0 +1,98 @@
+package com.springboot.jpa.service;
+
+import com.springboot.jpa.data.entity.User;
+import com.springboot.jpa.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.cache.SpringCacheBasedUserCache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class UserDetailsServiceImplTest {
+
+    private UserRepository userRepository = Mockito.mock(UserRepository.class);
+    private UserDetailsServiceImpl userDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        userDetailsService = new UserDetailsServiceImpl(userRepository,
+                new SpringCacheBasedUserCache(new ConcurrentMapCache("users")));
+
+        Mockito.when(userRepository.getByUid("user123")).thenReturn(User.builder()
+                .uid("user123")
+                .password("password")
+                .name("사용자")
+                .roles(List.of("ROLE_USER"))
+                .build());
+    }
+
+    @Test
+    void loadUserByUsernameIsCached() {
+        UserDetails first = userDetailsService.loadUserByUsername("user123");
+        UserDetails second = userDetailsService.loadUserByUsername("user123");
+
+        assertEquals("user123", second.getUsername());
+        assertEquals(first.getAuthorities(), second.getAuthorities());
+        //두 번째 조회는 캐시에서
+        verify(userRepository, times(1)).getByUid("user123");
+    }
+
+    @Test
+    void evictUserReloadsFromRepository() {
+        userDetailsService.loadUserByUsername("user123");
+        userDetailsService.evictUser("user123");
+        userDetailsService.loadUserByUsername("user123");
+
+        verify(userRepository, times(2)).getByUid("user123");
+    }
+
+    @Test
+    void evictUserInTransactionWaitsForCommit() {
+        userDetailsService.loadUserByUsername("user123");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userDetailsService.evictUser("user123");
+            //커밋 전에는 캐시에 그대로
+            userDetailsService.loadUserByUsername("user123");
+            verify(userRepository, times(1)).getByUid("user123");
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        userDetailsService.loadUserByUsername("user123");
+        verify(userRepository, times(2)).getByUid("user123");
+    }
+
+    @Test
+    void changeRolesEvictsCachedUser() {
+        userDetailsService.loadUserByUsername("user123");
+
+        userDetailsService.changeRoles("user123", List.of("ROLE_USER", "ROLE_ADMIN"));
+
+        UserDetails reloaded = userDetailsService.loadUserByUsername("user123");
+        assertEquals(2, reloaded.getAuthorities().size());
+    }
+
+    @Test
+    void erasingCredentialsDoesNotAffectCachedUser() {
+        //인증 성공 후 ProviderManager가 하는 것처럼 비밀번호 제거
+        ((CredentialsContainer) userDetailsService.loadUserByUsername("user123")).eraseCredentials();
+        ((CredentialsContainer) userDetailsService.loadUserByUsername("user123")).eraseCredentials();
+
+        assertNotNull(userDetailsService.loadUserByUsername("user123").getPassword());
+    }
+}
@@ -0,0 +1,3 @@
+-- NativeSmokeTest 용 HTTP Basic 인증 사용자 (H2, NON_KEYWORDS=USER)
+insert into user (uid, password, name) values ('smoke', '{noop}smoke', 'smoke');
+insert into user_roles (user_id, roles) select id, 'ROLE_USER' from user where uid = 'smoke';